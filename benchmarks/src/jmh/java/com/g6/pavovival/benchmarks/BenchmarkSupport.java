@@ -0,0 +1,130 @@
+package com.g6.pavovival.benchmarks;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import com.g6.pavovival.actions.AssetController;
+import com.g6.pavovival.actions.InputFrame;
+import com.g6.pavovival.actions.Spawn;
+import com.g6.pavovival.entities.Bird;
+import com.g6.pavovival.entities.BulletSystem;
+import com.g6.pavovival.entities.Enemy;
+import com.g6.pavovival.entities.EntityPools;
+import com.g6.pavovival.entities.Minion;
+import com.g6.pavovival.world.World;
+
+import java.lang.reflect.Proxy;
+
+/** Headless libGDX + stub textures so benchmarks can build real entities without a GPU. */
+final class BenchmarkSupport {
+
+    private static boolean booted = false;
+
+    private BenchmarkSupport() {}
+
+    /** Starts the headless backend once per JVM (sets Gdx.app / Gdx.gl to mocks). */
+    static synchronized void boot() {
+        if (booted) return;
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1; // no render loop, we only need the Gdx statics
+        new HeadlessApplication(new ApplicationAdapter() {}, config);
+        Gdx.gl = Gdx.gl20 = noOpGL();
+        booted = true;
+    }
+
+    /** The headless backend has no GL; textures only need the calls to succeed. */
+    private static GL20 noOpGL() {
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{GL20.class},
+            (proxy, method, args) -> {
+                Class<?> r = method.getReturnType();
+                if (r == boolean.class) return false;
+                if (r == int.class) return 0;
+                if (r == float.class) return 0f;
+                return null;
+            });
+    }
+
+    /** A texture that only knows its size; nothing is decoded or uploaded. */
+    static Texture stubTexture(int width, int height) {
+        boot();
+        return new Texture(new StubTextureData(width, height));
+    }
+
+    /** Whole-texture region over a stub texture, like a sprite from the atlas. */
+    static TextureRegion stubRegion(int width, int height) {
+        return new TextureRegion(stubTexture(width, height));
+    }
+
+    /**
+     * Scatters `entities` enemies (every third a bird) and `bullets` bullets of each owner,
+     * interleaved like a real fight, over the 960x540 world; same layout for the same counts.
+     */
+    static void scatter(int entities, int bullets, Array<Enemy> enemies, BulletSystem bulletSystem) {
+        TextureRegion minionTex = stubRegion(819, 819);
+        TextureRegion birdTex   = stubRegion(1080, 1080);
+        RandomXS128 rnd = new RandomXS128(1234L);
+
+        for (int i = 0; i < entities; i++) {
+            float x = rnd.nextFloat() * 960f, y = rnd.nextFloat() * 540f;
+            enemies.add(i % 3 == 0 ? new Bird(birdTex, x, y) : new Minion(minionTex, x, y));
+        }
+        for (int i = 0; i < bullets; i++) {
+            bulletSystem.add(rnd.nextFloat() * 960f, rnd.nextFloat() * 540f, 1, BulletSystem.PLAYER);
+            bulletSystem.add(rnd.nextFloat() * 960f, rnd.nextFloat() * 540f, -1, BulletSystem.ENEMY);
+        }
+    }
+
+    /**
+     * A World (seed 1, serial step) filled the way StressRunner fills it: level 3, a wave that
+     * never ends, spawning capped at N enemies (2/3 minions, 1/3 birds) across the whole width,
+     * N enemy bullets, players that can't die. Stepped once so the first enemies are in.
+     */
+    static World stressWorld(int entities, int players) {
+        boot();
+        World world = new World(new AssetController(), new EntityPools(entities, entities), 1L, players);
+        world.parallelThreshold = -1;
+        world.levels.level = 3;
+        world.levels.waveSizeOverride = Integer.MAX_VALUE;
+        Spawn s = world.spawner;
+        s.maxActive = entities;
+        s.perUpdate = entities;
+        s.spawnInterval = 0f;
+        s.birdChance = 1f / 3f;
+        s.spreadX = World.WIDTH;
+        world.pavo.hp = Integer.MAX_VALUE / 2;
+        if (world.partner != null) world.partner.hp = Integer.MAX_VALUE / 2;
+        for (int i = 0; i < entities; i++)
+            world.bullets.add(i % 960, i % 300, (i & 1) == 0 ? 1 : -1, BulletSystem.ENEMY);
+        world.step(1f / 60f, new InputFrame(), players == 2 ? new InputFrame() : null);
+        return world;
+    }
+
+    private static final class StubTextureData implements TextureData {
+        private final int width, height;
+
+        StubTextureData(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override public TextureDataType getType() { return TextureDataType.Custom; }
+        @Override public boolean isPrepared() { return true; }
+        @Override public void prepare() {}
+        @Override public Pixmap consumePixmap() { throw new UnsupportedOperationException(); }
+        @Override public boolean disposePixmap() { return false; }
+        @Override public void consumeCustomData(int target) { /* nothing to upload */ }
+        @Override public int getWidth() { return width; }
+        @Override public int getHeight() { return height; }
+        @Override public Pixmap.Format getFormat() { return Pixmap.Format.RGBA8888; }
+        @Override public boolean useMipMaps() { return false; }
+        @Override public boolean isManaged() { return false; }
+    }
+}
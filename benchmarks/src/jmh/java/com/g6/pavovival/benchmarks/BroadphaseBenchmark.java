@@ -0,0 +1,47 @@
+package com.g6.pavovival.benchmarks;
+
+import com.badlogic.gdx.utils.Array;
+import com.g6.pavovival.actions.CollisionController;
+import com.g6.pavovival.entities.BulletSystem;
+import com.g6.pavovival.entities.Enemy;
+import com.g6.pavovival.entities.Pavo;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilding CollisionController's broadphase (enemies and enemy bullets into their grids) and
+ * the enemies-vs-Pavo query, with N enemies and N bullets of each kind laid out as in
+ * {@link CollisionBenchmark}. Neither changes the entities, so there's nothing to reset.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BroadphaseBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    public int entities;
+
+    private final CollisionController collisions = new CollisionController();
+    private final Array<Enemy> enemies = new Array<>();
+    private final BulletSystem bulletSystem = new BulletSystem();
+    private Pavo pavo;
+
+    @Setup(Level.Trial)
+    public void build() {
+        BenchmarkSupport.scatter(entities, entities, enemies, bulletSystem);
+        pavo = new Pavo(BenchmarkSupport.stubRegion(819, 819), 400, 0);
+        collisions.updateBroadphase(enemies, bulletSystem);
+    }
+
+    @Benchmark
+    public void updateBroadphase() {
+        collisions.updateBroadphase(enemies, bulletSystem);
+    }
+
+    @Benchmark
+    public void enemiesVsPavo(Blackhole bh) {
+        bh.consume(collisions.enemiesVsPavo(enemies, pavo));
+    }
+}
@@ -0,0 +1,83 @@
+package com.g6.pavovival.benchmarks;
+
+import com.badlogic.gdx.utils.Array;
+import com.g6.pavovival.actions.CollisionController;
+import com.g6.pavovival.entities.*;
+import com.g6.pavovival.world.GameEvents;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two bullet passes of CollisionController with N enemies and M bullets of each kind
+ * scattered over the 960x540 world. Hits kill bullets / enemies, so every op first puts the
+ * alive flags and hp back (linear array fills, small next to the pass) and then runs the pass,
+ * BATCH times per invocation. The broadphase is built once with everything alive; nothing
+ * moves, so it stays valid. Its rebuild and enemiesVsPavo are in {@link BroadphaseBenchmark}.
+ * Run with {@code -prof gc}: every pass should report 0 B/op once warmed up.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionBenchmark {
+
+    private static final int BATCH = 8;
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    public int entities;
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    public int bullets;
+
+    private final CollisionController collisions = new CollisionController();
+    private final Array<Enemy> enemies = new Array<>();
+    private final BulletSystem bulletSystem = new BulletSystem();
+    private int[] enemyHp;
+    private final GameEvents events = new GameEvents();
+    private Pavo pavo;
+
+    @Setup(Level.Trial)
+    public void build() {
+        BenchmarkSupport.scatter(entities, bullets, enemies, bulletSystem);
+        enemyHp = new int[entities];
+        for (int i = 0; i < entities; i++) enemyHp[i] = enemies.get(i).hp;
+        pavo = new Pavo(BenchmarkSupport.stubRegion(819, 819), 400, 0);
+        collisions.updateBroadphase(enemies, bulletSystem);
+    }
+
+    private void restore() {
+        for (int i = 0; i < enemies.size; i++) {
+            Enemy e = enemies.get(i);
+            e.alive = true;
+            e.hp = enemyHp[i];
+        }
+        Arrays.fill(bulletSystem.alive, 0, bulletSystem.size, true);
+        events.beginTick();
+        pavo.alive = true;
+        pavo.hp = Integer.MAX_VALUE;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int playerBulletsVsEnemies() {
+        int hits = 0;
+        for (int i = 0; i < BATCH; i++) {
+            restore();
+            hits += collisions.playerBulletsVsEnemies(bulletSystem, enemies, events);
+        }
+        return hits;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int enemyBulletsVsPavo() {
+        int hp = 0;
+        for (int i = 0; i < BATCH; i++) {
+            restore();
+            collisions.enemyBulletsVsPavo(bulletSystem, pavo, events);
+            hp += pavo.hp;
+        }
+        return hp;
+    }
+}
@@ -0,0 +1,73 @@
+package com.g6.pavovival.benchmarks;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import com.g6.pavovival.entities.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** The per-entity update(dt) loops the World runs every tick, one list per entity type, plus the bullet integrator. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityUpdateBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    public int entities;
+
+    private final Array<Minion> minions = new Array<>();
+    private final Array<Bird> birds = new Array<>();
+    private final BulletSystem bullets = new BulletSystem();
+    private final Array<Enemy> mixed = new Array<>();
+
+    @Setup(Level.Trial)
+    public void build() {
+        TextureRegion minionTex = BenchmarkSupport.stubRegion(819, 819);
+        TextureRegion birdTex   = BenchmarkSupport.stubRegion(1080, 1080);
+        RandomXS128 rnd = new RandomXS128(1234L);
+
+        for (int i = 0; i < entities; i++) {
+            float x = rnd.nextFloat() * 960f, y = rnd.nextFloat() * 540f;
+            Minion m = new Minion(minionTex, x, y);
+            Bird b = new Bird(birdTex, x, y);
+            minions.add(m);
+            birds.add(b);
+            bullets.add(x, y, (i & 1) == 0 ? 1 : -1, BulletSystem.PLAYER);
+            mixed.add((i & 1) == 0 ? m : b);
+        }
+    }
+
+    @Benchmark
+    public float minions() {
+        float dt = 1f / 60f;
+        for (int i = 0; i < minions.size; i++) minions.get(i).update(dt);
+        return minions.get(0).x;
+    }
+
+    @Benchmark
+    public float birds() {
+        float dt = 1f / 60f;
+        for (int i = 0; i < birds.size; i++) birds.get(i).update(dt);
+        return birds.get(0).y;
+    }
+
+    /** Bullets never get compacted here, so the count stays fixed even once they fly off. */
+    @Benchmark
+    public float bullets() {
+        bullets.integrate(1f / 60f);
+        return bullets.x[0];
+    }
+
+    /**
+     * Minions and birds interleaved, as in World.enemies (bimorphic update call).
+     * No alive check: birds fly off-screen after a few thousand calls and would drop out.
+     */
+    @Benchmark
+    public float mixedEnemies() {
+        float dt = 1f / 60f;
+        for (int i = 0; i < mixed.size; i++) mixed.get(i).update(dt);
+        return mixed.get(0).x;
+    }
+}
@@ -0,0 +1,49 @@
+package com.g6.pavovival.benchmarks;
+
+import com.badlogic.gdx.graphics.Color;
+import com.g6.pavovival.effects.Particles;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Particles at a steady population: each frame spawns a frame's worth of bursts (so the ring
+ * keeps recycling the oldest) and integrates everything. Drawing is one batch.draw per live
+ * particle from the same region; its cost shows up in the game's "particles" profiler phase.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParticleBenchmark {
+
+    @Param({"1000", "4096", "16384"})
+    public int capacity;
+
+    private Particles particles;
+
+    @Setup(Level.Trial)
+    public void build() {
+        BenchmarkSupport.boot();
+        particles = new Particles(capacity);
+        // fill every slot with long-lived particles
+        while (particles.live < capacity) {
+            particles.burst(480f, 270f, 64, 0f, 3.14f, 200f, 100f, 8f, Color.ORANGE);
+            particles.update(0f);
+        }
+    }
+
+    @Benchmark
+    public int update() {
+        particles.update(1f / 60f);
+        return particles.live;
+    }
+
+    /** A busy frame: 20 hit sparks + 5 death bursts into a full ring, then the update. */
+    @Benchmark
+    public int emitAndUpdate() {
+        for (int i = 0; i < 20; i++) particles.hitSparks(100f + i * 30f, 200f);
+        for (int i = 0; i < 5; i++) particles.deathBurst(200f + i * 100f, 100f, Color.ORANGE);
+        particles.update(1f / 60f);
+        return particles.live;
+    }
+}
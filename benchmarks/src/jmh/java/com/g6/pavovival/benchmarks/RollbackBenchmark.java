@@ -0,0 +1,53 @@
+package com.g6.pavovival.benchmarks;
+
+import com.g6.pavovival.actions.InputFrame;
+import com.g6.pavovival.net.RollbackSession;
+import com.g6.pavovival.world.SaveState;
+import com.g6.pavovival.world.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The worst case a RollbackSession handles inside one frame: restore a co-op World MAX_ROLLBACK
+ * ticks back and re-simulate them, saving and hashing every tick as the session does. With N
+ * enemies (2/3 minions, 1/3 birds) and N bullets, filled by BenchmarkSupport.stressWorld. Has
+ * to stay well under a 16.7 ms frame; the session's normal tick is one step of this.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RollbackBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int entities;
+
+    private static final float DT = 1f / 60f;
+
+    private World world;
+    private final SaveState start = new SaveState();
+    private final SaveState[] states = new SaveState[RollbackSession.MAX_ROLLBACK];
+    private final InputFrame pavo = new InputFrame(), partner = new InputFrame();
+
+    @Setup(Level.Trial)
+    public void build() {
+        world = BenchmarkSupport.stressWorld(entities, 2);   // serial: a session steps on the render thread
+        start.save(world);
+        for (int i = 0; i < states.length; i++) states[i] = new SaveState();
+        pavo.right = true;
+        partner.left = true;
+    }
+
+    @Benchmark
+    public long rollback() {
+        start.restore(world);
+        long h = 0;
+        for (int i = 0; i < states.length; i++) {
+            states[i].save(world);
+            partner.shoot = (i & 1) == 0;
+            world.step(DT, pavo, partner);
+            h ^= world.checksum();
+        }
+        return h;
+    }
+}
@@ -0,0 +1,42 @@
+package com.g6.pavovival.benchmarks;
+
+import com.g6.pavovival.world.SaveState;
+import com.g6.pavovival.world.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and restoring a whole World with N enemies (2/3 minions, 1/3 birds) and N bullets,
+ * filled the way StressRunner fills it (BenchmarkSupport.stressWorld). Both should stay well under a tick (1000 µs) so a
+ * rewind buffer can save every tick; run with {@code -prof gc} to see 0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SaveStateBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int entities;
+
+    private World world;
+    private final SaveState state = new SaveState();
+
+    @Setup(Level.Trial)
+    public void build() {
+        world = BenchmarkSupport.stressWorld(entities, 1);
+        state.save(world);
+    }
+
+    @Benchmark
+    public int save() {
+        state.save(world);
+        return state.size();
+    }
+
+    @Benchmark
+    public int restore() {
+        state.restore(world);
+        return world.enemies.size;
+    }
+}
@@ -0,0 +1,52 @@
+package com.g6.pavovival.benchmarks;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import com.g6.pavovival.actions.AssetController;
+import com.g6.pavovival.actions.LevelController;
+import com.g6.pavovival.actions.Spawn;
+import com.g6.pavovival.entities.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spawn.update with N live enemies on the field: the active count and the minion steering
+ * loop are both O(N). The cap is always reached so no new enemy is added between calls.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpawnBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    public int entities;
+
+    private final Array<Enemy> enemies = new Array<>();
+    private Spawn spawn;
+    private Pavo pavo;
+
+    @Setup(Level.Trial)
+    public void build() {
+        AssetController assets = new AssetController();
+        assets.minionRegion = BenchmarkSupport.stubRegion(819, 819);
+        assets.birdRegion   = BenchmarkSupport.stubRegion(1080, 1080);
+
+        LevelController levels = new LevelController();
+        levels.level = 3;
+        spawn = new Spawn(assets, levels, new EntityPools(), new RandomXS128(1L));
+
+        RandomXS128 rnd = new RandomXS128(1234L);
+        for (int i = 0; i < entities; i++) {
+            float x = rnd.nextFloat() * 960f, y = rnd.nextFloat() * 540f;
+            enemies.add(i % 3 == 0 ? new Bird(assets.birdRegion, x, y) : new Minion(assets.minionRegion, x, y));
+        }
+        pavo = new Pavo(BenchmarkSupport.stubRegion(819, 819), 400, 0);
+    }
+
+    @Benchmark
+    public int update() {
+        spawn.update(1f / 60f, enemies, pavo);
+        return enemies.size;
+    }
+}
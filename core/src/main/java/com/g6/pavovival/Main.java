@@ -1,26 +1,71 @@
 package com.g6.pavovival;
 
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.g6.pavovival.actions.AssetController;
-import com.g6.pavovival.screens.GameScreen;
+import com.g6.pavovival.net.RollbackSession;
+import com.g6.pavovival.screens.LoadingScreen;
 
 public class Main extends Game {
     public SpriteBatch batch;
     public AssetController assets;
 
+    /** Replay file to play back instead of reading the keyboard (desktop: --replay <file>). */
+    public String replayPath = null;
+
+    /** Step the World on its own thread and only draw its snapshots here (desktop: --sim-thread). */
+    public boolean simThread = false;
+
+    /**
+     * Co-op over UDP loopback (desktop: --coop 1|2): 0 = single player, else which player this
+     * process is. Both processes need the same seed; player 1 binds coopBasePort, player 2 the next.
+     */
+    public int coopPlayer = 0;
+    public int coopBasePort = 7770;
+    public long coopSeed = 1L;
+    public int coopDelay = RollbackSession.DEFAULT_DELAY;
+
+    // startup timing (ms since create())
+    private long createdAt;
+    private boolean firstFrameLogged = false;
+    private boolean interactiveLogged = false;
+
+    // background streaming budget per frame once the game is running
+    private static final int STREAM_MILLIS = 4;
 
     @Override
     public void create() {
+        createdAt = TimeUtils.millis();
         batch = new SpriteBatch();
         assets = new AssetController();
-        assets.load();
-        setScreen(new GameScreen(this));
+        assets.queueLevelOne();
+        setScreen(new LoadingScreen(this));
+    }
+
+    @Override
+    public void render() {
+        if (!firstFrameLogged) {
+            firstFrameLogged = true;
+            Gdx.app.log("Startup", "time-to-first-frame: " + TimeUtils.timeSinceMillis(createdAt) + " ms");
+        }
+        // keep streaming the next phase's assets (see AssetResidency) while playing
+        if (assets.isLevelOneReady()) assets.update(STREAM_MILLIS);
+        super.render();
+    }
+
+    /** Called by the loading screen the moment the game becomes playable. */
+    public void onInteractive() {
+        if (interactiveLogged) return;
+        interactiveLogged = true;
+        Gdx.app.log("Startup", "time-to-interactive: " + TimeUtils.timeSinceMillis(createdAt) + " ms");
     }
 
     @Override
     public void dispose() {
+        super.dispose(); // hides the current screen (GameScreen writes its profile there)
+        if (screen != null) screen.dispose();
         batch.dispose();
         assets.dispose();
     }
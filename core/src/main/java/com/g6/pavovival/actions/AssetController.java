@@ -1,167 +1,342 @@
 package com.g6.pavovival.actions;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
-import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.Array;
+import com.g6.pavovival.world.World;
 
+/**
+ * Owns every texture, font and sound. Loading goes through an AssetManager in two stages:
+ * what level 1 needs (queueLevelOne / finishLevelOne), then what the next phase needs, which
+ * streams in while the game already runs (queueRest / update). load() does both, blocking.
+ * From then on {@link #residency} keeps only the current and the next phase's backgrounds and
+ * sounds resident (enterPhase). Anything not loaded yet, or released, is null; callers already
+ * treat missing assets as optional.
+ * Fonts don't go through the manager: FontCache hands out pre-baked bitmap fonts. Music
+ * doesn't either: MusicController opens tracks one level ahead and drops the rest.
+ */
 public class AssetController {
-    private Music currentMusic = null;
+    // packed by the packTextures Gradle task (see root build.gradle), sprites at their render
+    // size; the @2x variant is for windows well above 540 px high, the .etc2 twins use ETC2
+    // KTX pages (compressTextures) instead of PNG
+    public static final String SPRITE_ATLAS = "atlas/sprites.atlas";
+    public static final String SPRITE_ATLAS_2X = "atlas/sprites@2x.atlas";
+
+    private static final String[] LOOSE_SPRITES = {
+        "pavo.png", "minion.png", "bossy.png", "pavo_bullet.png", "boss_bullet.png", "bird.png", "particle.png"
+    };
+
+    // TTF used by both baked fonts (assets/ or assets/fonts/); the two keys name the cache entries
+    private static final String[] FONT_TTF = { "Pixeloid.ttf", "fonts/Pixeloid.ttf" };
+    private static final String RETRO_KEY = "retro-64";
+    private static final String HUD_KEY   = "hud-40";
+
+    public final AssetManager manager = new AssetManager(new InternalFileHandleResolver());
+    public final FontCache fontCache = new FontCache();
+    public final AssetResidency residency = new AssetResidency(manager);
+
     // --- Textures ---
     public Texture lvOne, lvTwo, lvThree;
-    public Texture pavoTexture, minionTexture, bossyTexture;
-    public Texture bulletTexture, bossBulletTexture;
 
-    public Texture birdTexture;
+    // --- Sprites (regions of one atlas page, or of loose textures if the atlas is missing) ---
+    public TextureAtlas spriteAtlas;
+    private String spriteAtlasPath;    // the variant queued, see spriteAtlasPath()
+    public TextureRegion pavoRegion, minionRegion, bossyRegion;
+    public TextureRegion bulletRegion, bossBulletRegion;
+    public TextureRegion birdRegion;
+    public TextureRegion particleRegion;   // soft white dot, tinted per particle
 
     // --- Fonts ---
     public BitmapFont font;        // fallback / debug
     public BitmapFont retroFont;   // big banner font (GAME OVER / YOU WIN / PAUSED)
     public BitmapFont hudFont;     // crisp HUD font (STAGE / MINIONS / HP)
+    private final Array<BitmapFont> unmanagedFonts = new Array<>();
 
-    public Music musicLv1, musicLv2, musicLv3, musicBoss, musicGameOver, musicWin;
+    public final MusicController music = new MusicController();
     public Sound sfxShoot, sfxHit, sfxBossRoar;
 
+    // mixer slots; gameplay triggers these instead of playing the Sounds directly
+    public static final int SFX_SHOOT = 0, SFX_HIT = 1, SFX_ROAR = 2;
+    public final SfxMixer sfx = new SfxMixer(3, 12); // 12 voices leaves OpenAL sources for music
+
+    private boolean levelOneDone = false;
+    private boolean restQueued = false;
+    private boolean streamed = true;   // nothing was queued since the last residency report
+
+    public AssetController() {
+        residency.add(AssetResidency.LEVEL_1, "lvOne.png", Texture.class);
+        residency.add(AssetResidency.LEVEL_2, "lvTwo.png", Texture.class);
+        residency.add(AssetResidency.LEVEL_3, "lvThree.png", Texture.class);
+        residency.add(AssetResidency.BOSS, "lvThree.png", Texture.class);   // the boss fights on level 3
+        residency.add(AssetResidency.BOSS, "audio/roar.wav", Sound.class);
+    }
+
+    /** Loads everything and blocks until done. */
     public void load() {
-        // Backgrounds
-        lvOne = new Texture(Gdx.files.internal("lvOne.png"));
-        lvTwo = new Texture(Gdx.files.internal("lvTwo.png"));
-        lvThree = new Texture(Gdx.files.internal("lvThree.png"));
+        queueLevelOne();
+        manager.finishLoading();
+        finishLevelOne();
+        queueRest();
+        manager.finishLoading();
+        refresh();
+    }
+
+    // === Stage 1: enough to show level 1 ===
+    public void queueLevelOne() {
+        residency.hold(AssetResidency.LEVEL_1);
+
+        // Characters, bullets, bird
+        spriteAtlasPath = spriteAtlasPath();
+        if (spriteAtlasPath != null) {
+            manager.load(spriteAtlasPath, TextureAtlas.class);
+        } else {
+            Gdx.app.log("Assets", "Sprite atlas missing at " + SPRITE_ATLAS + " — loading loose PNGs (run packTextures).");
+            for (String s : LOOSE_SPRITES) queue(s, Texture.class);
+        }
+
+        // SFX
+        queue("audio/shoot.wav", Sound.class);
+        queue("audio/hit.wav", Sound.class);
+    }
 
-        // Characters
-        pavoTexture   = new Texture(Gdx.files.internal("pavo.png"));
-        minionTexture = new Texture(Gdx.files.internal("minion.png"));
-        bossyTexture  = new Texture(Gdx.files.internal("bossy.png"));
+    /**
+     * Atlas to load, or null if none was packed: @2x when the backbuffer is at least 1.5x the
+     * world's height, and its ETC2 twin when that was built and the GPU decodes ETC2 (core in
+     * GL ES 3, ARB_ES3_compatibility on desktop GL).
+     */
+    private static String spriteAtlasPath() {
+        String path = SPRITE_ATLAS;
+        if (Gdx.graphics != null && Gdx.graphics.getBackBufferHeight() >= World.HEIGHT * 1.5f
+            && Gdx.files.internal(SPRITE_ATLAS_2X).exists()) path = SPRITE_ATLAS_2X;
+        if (!Gdx.files.internal(path).exists()) return null;
 
-        // Bullets
-        bulletTexture     = new Texture(Gdx.files.internal("pavo_bullet.png"));
-        bossBulletTexture = new Texture(Gdx.files.internal("boss_bullet.png"));
+        String etc2 = path.replace(".atlas", ".etc2.atlas");
+        if (Gdx.files.internal(etc2).exists() && supportsEtc2()) return etc2;
+        return path;
+    }
+
+    private static boolean supportsEtc2() {
+        if (Gdx.graphics == null) return false;
+        if (Gdx.app.getType() == Application.ApplicationType.Desktop)
+            return Gdx.graphics.supportsExtension("GL_ARB_ES3_compatibility");
+        return Gdx.graphics.isGL30Available();
+    }
+
+    /** Steps the loader for at most millis ms; true once level 1 is fully loaded. */
+    public boolean updateLevelOne(int millis) {
+        if (levelOneDone) return true;
+        manager.update(millis);
+        return isLevelOneLoaded();
+    }
+
+    public boolean isLevelOneReady() {
+        return levelOneDone;
+    }
 
-        // bird
-        birdTexture = new Texture("bird.png");
+    private boolean isLevelOneLoaded() {
+        // stage 2 isn't queued yet, so "queue empty" means stage 1 is complete
+        return !restQueued && manager.isFinished();
+    }
+
+    /** Hands the level 1 assets out to the public fields. */
+    public void finishLevelOne() {
+        if (levelOneDone) return;
+
+        if (spriteAtlasPath != null && manager.isLoaded(spriteAtlasPath)) {
+            spriteAtlas = manager.get(spriteAtlasPath, TextureAtlas.class);
+            pavoRegion       = spriteAtlas.findRegion("pavo");
+            minionRegion     = spriteAtlas.findRegion("minion");
+            bossyRegion      = spriteAtlas.findRegion("bossy");
+            bulletRegion     = spriteAtlas.findRegion("pavo_bullet");
+            bossBulletRegion = spriteAtlas.findRegion("boss_bullet");
+            birdRegion       = spriteAtlas.findRegion("bird");
+            particleRegion   = spriteAtlas.findRegion("particle");
+        } else {
+            pavoRegion       = looseRegion("pavo.png");
+            minionRegion     = looseRegion("minion.png");
+            bossyRegion      = looseRegion("bossy.png");
+            bulletRegion     = looseRegion("pavo_bullet.png");
+            bossBulletRegion = looseRegion("boss_bullet.png");
+            birdRegion       = looseRegion("bird.png");
+            particleRegion   = looseRegion("particle.png");
+        }
 
         // Default font (fallback)
-        font = new BitmapFont();
+        font = unmanaged(new BitmapFont());
         font.getData().markupEnabled = true;
 
-        // === Retro banner font ===
-        final String retroPath = "Pixeloid.ttf";   // make sure this is in assets/
-        if (Gdx.files.internal(retroPath).exists()) {
-            FreeTypeFontGenerator gen = new FreeTypeFontGenerator(Gdx.files.internal(retroPath));
-            FreeTypeFontGenerator.FreeTypeFontParameter p = new FreeTypeFontGenerator.FreeTypeFontParameter();
-            p.size = 64; // big and readable
-            p.color = Color.ORANGE;
-            p.borderWidth = 3f;
-            p.borderColor = Color.BLACK;
-            p.shadowOffsetX = 3;
-            p.shadowOffsetY = 3;
-            p.shadowColor   = new Color(0, 0, 0, 0.8f);
-            p.minFilter = Texture.TextureFilter.Nearest;
-            p.magFilter = Texture.TextureFilter.Nearest;
-            retroFont = gen.generateFont(p);
+        FileHandle ttf = fontFile();
+        if (ttf != null) {
+            retroFont = unmanaged(fontCache.get(RETRO_KEY, ttf, retroParams()));
             retroFont.getData().markupEnabled = true;   // safe even if we don’t use tags
             retroFont.setUseIntegerPositions(true);
-            gen.dispose();
-        } else {
-            retroFont = new BitmapFont();
-            Gdx.app.log("Assets", "Retro TTF missing at " + retroPath + " — using default BitmapFont.");
-        }
 
-        // === HUD font ===
-        final String hudPath = "Pixeloid.ttf";
-        if (Gdx.files.internal(hudPath).exists()) {
-            FreeTypeFontGenerator gen = new FreeTypeFontGenerator(Gdx.files.internal(hudPath));
-            FreeTypeFontGenerator.FreeTypeFontParameter hud = new FreeTypeFontGenerator.FreeTypeFontParameter();
-            hud.size = 40;                      // bump to taste (32–48)
-            hud.color = Color.WHITE;
-            hud.borderWidth = 2f;
-            hud.borderColor = new Color(0, 0, 0, 0.9f);
-            hud.shadowOffsetX = 1;
-            hud.shadowOffsetY = 1;
-            hud.shadowColor   = new Color(0, 0, 0, 0.5f);
-            hud.minFilter = Texture.TextureFilter.Nearest;
-            hud.magFilter = Texture.TextureFilter.Nearest;
-            hudFont = gen.generateFont(hud);
+            hudFont = unmanaged(fontCache.get(HUD_KEY, ttf, hudParams()));
             hudFont.getData().markupEnabled = true;
             hudFont.setUseIntegerPositions(true);
-            gen.dispose();
         } else {
-            hudFont = new BitmapFont();
-            Gdx.app.log("Assets", "HUD TTF missing at " + hudPath + " — using default BitmapFont.");
+            retroFont = unmanaged(new BitmapFont());
+            hudFont = unmanaged(new BitmapFont());
+            Gdx.app.log("Assets", "Pixeloid.ttf missing — using default BitmapFont.");
         }
 
-        musicLv1     = Gdx.audio.newMusic(Gdx.files.internal("audio/level1.wav"));
-        musicLv2     = Gdx.audio.newMusic(Gdx.files.internal("audio/level2.mp3"));
-        musicLv3     = Gdx.audio.newMusic(Gdx.files.internal("audio/level3.mp3"));
-        musicBoss    = Gdx.audio.newMusic(Gdx.files.internal("audio/boss.wav"));
-        musicGameOver= Gdx.audio.newMusic(Gdx.files.internal("audio/gameover.wav"));
-        musicWin     = Gdx.audio.newMusic(Gdx.files.internal("audio/win.wav"));
+        sfxShoot    = get("audio/shoot.wav", Sound.class);
+        sfxHit      = get("audio/hit.wav", Sound.class);
+
+        //         slot       sound        vol   voices priority length(s)
+        sfx.set(SFX_SHOOT, sfxShoot,    0.8f, 3,     1,       1.05f);
+        sfx.set(SFX_HIT,   sfxHit,      0.9f, 4,     2,       1.28f);
+        refresh();
 
-        for (Music m : new Music[]{musicLv1, musicLv2, musicLv3, musicBoss}) {
-            m.setLooping(true);
-            m.setVolume(0.8f); // 0.0–1.0
+        levelOneDone = true;
+    }
+
+    // === Stage 2: what the next phase needs (streams in during play) ===
+    public void queueRest() {
+        if (restQueued) return;
+        restQueued = true;
+        enterPhase(AssetResidency.LEVEL_1);
+    }
+
+    /**
+     * Moves residency to phase (an AssetResidency constant): the next phase starts streaming
+     * in and assets nothing needs anymore are disposed now. Cheap when phase doesn't change.
+     */
+    public void enterPhase(int phase) {
+        if (phase == residency.current()) return;
+        residency.enter(phase);
+        refresh();
+        streamed = false;
+        Gdx.app.log("Assets", "enter " + residency.report());
+    }
+
+    /**
+     * Steps background loading for at most millis ms (call once per frame).
+     * Returns true when everything queued is loaded.
+     */
+    public boolean update(int millis) {
+        if (streamed) return true;
+        boolean done = manager.update(millis);
+        refresh();
+        if (done) {
+            streamed = true;
+            Gdx.app.log("Assets", "streamed " + residency.report());
         }
-        musicGameOver.setLooping(false);
-        musicWin.setLooping(false);
-        musicGameOver.setVolume(0.9f);
-        musicWin.setVolume(0.9f);
+        return done;
+    }
+
+    /** Background for level, or whichever one is resident while it streams in (null if none). */
+    public Texture background(int level) {
+        Texture bg = level == 3 ? lvThree : level == 2 ? lvTwo : lvOne;
+        if (bg != null) return bg;
+        return lvOne != null ? lvOne : lvTwo != null ? lvTwo : lvThree;
+    }
+
+    // re-reads the phase-scoped fields, which load and unload as phases change
+    private void refresh() {
+        lvOne   = get("lvOne.png", Texture.class);
+        lvTwo   = get("lvTwo.png", Texture.class);
+        lvThree = get("lvThree.png", Texture.class);
+
+        Sound roar = get("audio/roar.wav", Sound.class);
+        if (roar != sfxBossRoar) {
+            sfxBossRoar = roar;
+            sfx.set(SFX_ROAR, sfxBossRoar, 0.9f, 1, 3, 4.0f);
+        }
+    }
+
+    /** 0..1 over everything queued so far. */
+    public float progress() {
+        return manager.getProgress();
+    }
 
-// SFX
-        sfxShoot    = Gdx.audio.newSound(Gdx.files.internal("audio/shoot.wav"));
-        sfxHit      = Gdx.audio.newSound(Gdx.files.internal("audio/hit.wav"));
-        sfxBossRoar = Gdx.audio.newSound(Gdx.files.internal("audio/roar.wav")); // optional
+    // queue a file only if it is really there, so a missing track doesn't kill loading
+    private void queue(String path, Class<?> type) {
+        if (Gdx.files.internal(path).exists()) manager.load(path, type);
+        else Gdx.app.log("Assets", "Missing " + path + " — skipped.");
+    }
+
+    private <T> T get(String path, Class<T> type) {
+        return manager.isLoaded(path, type) ? manager.get(path, type) : null;
+    }
+
+    private static FileHandle fontFile() {
+        for (String path : FONT_TTF) {
+            FileHandle f = Gdx.files.internal(path);
+            if (f.exists()) return f;
+        }
+        return null;
+    }
+
+    // === Retro banner font ===
+    private static FreeTypeFontGenerator.FreeTypeFontParameter retroParams() {
+        FreeTypeFontGenerator.FreeTypeFontParameter p = new FreeTypeFontGenerator.FreeTypeFontParameter();
+        p.size = 64; // big and readable
+        p.color = Color.ORANGE;
+        p.borderWidth = 3f;
+        p.borderColor = Color.BLACK;
+        p.shadowOffsetX = 3;
+        p.shadowOffsetY = 3;
+        p.shadowColor   = new Color(0, 0, 0, 0.8f);
+        p.minFilter = Texture.TextureFilter.Nearest;
+        p.magFilter = Texture.TextureFilter.Nearest;
+        return p;
+    }
+
+    // === HUD font ===
+    private static FreeTypeFontGenerator.FreeTypeFontParameter hudParams() {
+        FreeTypeFontGenerator.FreeTypeFontParameter hud = new FreeTypeFontGenerator.FreeTypeFontParameter();
+        hud.size = 40;                      // bump to taste (32–48)
+        hud.color = Color.WHITE;
+        hud.borderWidth = 2f;
+        hud.borderColor = new Color(0, 0, 0, 0.9f);
+        hud.shadowOffsetX = 1;
+        hud.shadowOffsetY = 1;
+        hud.shadowColor   = new Color(0, 0, 0, 0.5f);
+        hud.minFilter = Texture.TextureFilter.Nearest;
+        hud.magFilter = Texture.TextureFilter.Nearest;
+        return hud;
+    }
+
+    private TextureRegion looseRegion(String path) {
+        Texture t = get(path, Texture.class);
+        return t != null ? new TextureRegion(t) : null;
+    }
+
+    private BitmapFont unmanaged(BitmapFont f) {
+        unmanagedFonts.add(f);
+        return f;
     }
 
     public void stopAllMusic() {
-        if (musicLv1 != null) musicLv1.stop();
-        if (musicLv2 != null) musicLv2.stop();
-        if (musicLv3 != null) musicLv3.stop();
-        if (musicBoss != null) musicBoss.stop();
-        if (musicGameOver != null) musicGameOver.stop();
-        if (musicWin != null) musicWin.stop();
+        music.stop();
     }
 
     public void playLevelMusic(int level) {
-        // sanitize: treat 0 or out-of-range as level 1
-        int lvl = (level < 1 || level > 3) ? 1 : level;
-        Gdx.app.log("MUSIC", "Level " + lvl);
-
-        stopAllMusic();
-        if (lvl == 1 && musicLv1 != null)      musicLv1.play();
-        else if (lvl == 2 && musicLv2 != null) musicLv2.play();
-        else if (lvl == 3 && musicLv3 != null) musicLv3.play();
+        Gdx.app.log("MUSIC", "Level " + ((level < 1 || level > 3) ? 1 : level));
+        music.playLevel(level);
     }
 
-    public void playBossMusic()     { stopAllMusic(); if (musicBoss != null)    musicBoss.play(); }
-    public void playGameOverMusic() { stopAllMusic(); if (musicGameOver != null) musicGameOver.play(); }
-    public void playWinMusic()      { stopAllMusic(); if (musicWin != null)      musicWin.play(); }
+    public void playBossMusic()     { music.play(MusicController.BOSS); }
+    public void playGameOverMusic() { music.play(MusicController.GAME_OVER); }
+    public void playWinMusic()      { music.play(MusicController.WIN); }
 
 
     public void dispose() {
-        if (lvOne != null) lvOne.dispose();
-        if (lvTwo != null) lvTwo.dispose();
-        if (lvThree != null) lvThree.dispose();
-        if (pavoTexture != null) pavoTexture.dispose();
-        if (minionTexture != null) minionTexture.dispose();
-        if (bossyTexture != null) bossyTexture.dispose();
-        if (bulletTexture != null) bulletTexture.dispose();
-        if (bossBulletTexture != null) bossBulletTexture.dispose();
-
-        if (font != null) font.dispose();
-        if (retroFont != null) retroFont.dispose();
-        if (hudFont != null) hudFont.dispose();
-        if (musicLv1 != null) musicLv1.dispose();
-        if (musicLv2 != null) musicLv2.dispose();
-        if (musicLv3 != null) musicLv3.dispose();
-        if (musicBoss != null) musicBoss.dispose();
-        if (musicGameOver != null) musicGameOver.dispose();
-        if (musicWin != null) musicWin.dispose();
-
-        if (sfxShoot != null) sfxShoot.dispose();
-        if (sfxHit != null) sfxHit.dispose();
-        if (sfxBossRoar != null) sfxBossRoar.dispose();
+        // everything loaded through the manager (textures, atlas, sfx), then fonts and music
+        manager.dispose();
+        music.dispose();
+        for (BitmapFont f : unmanagedFonts) f.dispose();
+        unmanagedFonts.clear();
     }
 }
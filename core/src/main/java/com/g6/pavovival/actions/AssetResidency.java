@@ -0,0 +1,154 @@
+package com.g6.pavovival.actions;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Which assets are resident, by game phase (level 1 -> 2 -> 3 -> boss -> end screens).
+ * Entering a phase holds its assets and those of the phase most likely to come next, which
+ * then stream in through the AssetManager while the current wave is played, and releases
+ * every other phase. An asset listed by several phases (level 3's background is also the
+ * boss fight's) is held once per phase: the AssetManager reference-counts loads and only
+ * disposes it when the last holder releases it, so it's never reloaded on the way through.
+ * The end screens keep whatever the phase before them had, since they draw over it.
+ * Assets for the whole session (sprite atlas, fonts, shoot / hit sounds) don't go through here.
+ */
+public class AssetResidency {
+    public static final int LEVEL_1 = 0, LEVEL_2 = 1, LEVEL_3 = 2, BOSS = 3, END = 4;
+    public static final String[] NAMES = { "level 1", "level 2", "level 3", "boss", "end" };
+
+    private final AssetManager manager;
+    private final Array<Array<AssetDescriptor<?>>> assets = new Array<>(NAMES.length);
+    private final boolean[] held = new boolean[NAMES.length];
+    private int current = -1;
+
+    public AssetResidency(AssetManager manager) {
+        this.manager = manager;
+        for (int p = 0; p < NAMES.length; p++) assets.add(new Array<AssetDescriptor<?>>());
+    }
+
+    /** Lists path as needed during phase (before the phase is first held). */
+    public <T> void add(int phase, String path, Class<T> type) {
+        assets.get(phase).add(new AssetDescriptor<>(path, type));
+    }
+
+    public static int phaseOf(int level, boolean bossFight) {
+        if (bossFight) return BOSS;
+        return (level < 1 || level > 3) ? LEVEL_1 : LEVEL_1 + level - 1;
+    }
+
+    static int next(int phase) {
+        switch (phase) {
+            case LEVEL_1: return LEVEL_2;
+            case LEVEL_2: return LEVEL_3;
+            case LEVEL_3: return BOSS;
+            default:      return -1; // the win screen needs nothing new
+        }
+    }
+
+    /** Makes phase current: holds it and its successor (queued, not loaded yet), releases the rest. */
+    public void enter(int phase) {
+        if (phase == current) return;
+        int keep = phase == END ? current : -1;   // still on screen under the banner
+        int next = next(phase);
+
+        // hold first, so assets shared with a released phase keep a reference throughout
+        hold(phase);
+        if (next >= 0) hold(next);
+        for (int p = 0; p < NAMES.length; p++) {
+            if (p != phase && p != next && p != keep) release(p);
+        }
+        current = phase;
+    }
+
+    /** Queues phase's assets (once), without touching any other phase. */
+    public void hold(int phase) {
+        if (held[phase]) return;
+        held[phase] = true;
+        for (AssetDescriptor<?> d : assets.get(phase)) {
+            if (Gdx.files.internal(d.fileName).exists()) manager.load(d);
+            else Gdx.app.log("Assets", "Missing " + d.fileName + " — skipped.");
+        }
+    }
+
+    private void release(int phase) {
+        if (!held[phase]) return;
+        held[phase] = false;
+        for (AssetDescriptor<?> d : assets.get(phase)) {
+            if (manager.contains(d.fileName)) manager.unload(d.fileName);
+        }
+    }
+
+    public int current() {
+        return current;
+    }
+
+    public boolean isHeld(int phase) {
+        return held[phase];
+    }
+
+    /** Approximate bytes of phase's assets that are loaded right now (shared ones count for each phase). */
+    public long phaseBytes(int phase) {
+        long bytes = 0;
+        for (AssetDescriptor<?> d : assets.get(phase)) bytes += bytes(d.fileName);
+        return bytes;
+    }
+
+    /** Approximate bytes of everything the AssetManager has loaded, session assets included. */
+    public long residentBytes() {
+        long bytes = 0;
+        for (String name : manager.getAssetNames()) bytes += bytes(name);
+        return bytes;
+    }
+
+    /** Resident total and bytes per held phase, for the log. */
+    public String report() {
+        StringBuilder sb = new StringBuilder(128);
+        sb.append(current >= 0 ? NAMES[current] : "-").append(": resident ").append(kb(residentBytes())).append(" KB (");
+        boolean first = true;
+        for (int p = 0; p < NAMES.length; p++) {
+            if (!held[p]) continue;
+            if (!first) sb.append(", ");
+            first = false;
+            sb.append(NAMES[p]).append(' ').append(kb(phaseBytes(p))).append(" KB");
+        }
+        return sb.append(')').toString();
+    }
+
+    // textures: GPU size from the pixel format, plus a third for mipmaps; sounds: the decoded
+    // PCM, about the WAV's size. Atlases hold nothing themselves (their pages are Textures).
+    private long bytes(String name) {
+        if (!manager.isLoaded(name)) return 0;
+        Class<?> type = manager.getAssetType(name);
+        if (type == Texture.class) return textureBytes(manager.get(name, Texture.class));
+        if (type == Sound.class) return Gdx.files.internal(name).length();
+        return 0;
+    }
+
+    static long textureBytes(Texture t) {
+        TextureData data = t.getTextureData();
+        int bpp = 1;   // custom data is the KTX pages: ETC2 RGBA, 1 byte per pixel
+        if (data.getType() == TextureData.TextureDataType.Pixmap) {
+            switch (data.getFormat()) {
+                case Alpha:
+                case Intensity:      bpp = 1; break;
+                case LuminanceAlpha:
+                case RGB565:
+                case RGBA4444:       bpp = 2; break;
+                case RGB888:         bpp = 3; break;
+                default:             bpp = 4; break;
+            }
+        }
+        long bytes = (long) t.getWidth() * t.getHeight() * bpp;
+        return t.getMinFilter().isMipMap() ? bytes * 4 / 3 : bytes;
+    }
+
+    private static long kb(long bytes) {
+        return (bytes + 512) / 1024;
+    }
+}
@@ -0,0 +1,149 @@
+package com.g6.pavovival.actions;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.g6.pavovival.entities.Bird;
+import com.g6.pavovival.entities.BulletSystem;
+import com.g6.pavovival.entities.Enemy;
+import com.g6.pavovival.entities.Pavo;
+import com.g6.pavovival.world.World;
+
+/**
+ * Scripted player: fills the same InputFrame as {@link InputController}, from the World instead
+ * of the keyboard, so balancing runs play the real game through the real input path.
+ * <p>
+ * It backs off from ground enemies that get close and shoots the nearest enemy its bullet will
+ * meet (turning to it for that tick). Birds mostly fly above the muzzle, so it watches the
+ * nearest one's bob and jumps when a bullet fired at the top of the jump would reach it near
+ * the bottom of a bob, unless a bird is close enough to fly into it mid-air.
+ * skill (0..1) is the chance it reacts on a given tick; otherwise it keeps holding the same
+ * keys and doesn't shoot. It draws from its own seeded stream, so a game is still a function
+ * of the seeds.
+ */
+public class BotController {
+
+    private static final float KEEP_AWAY = 110f;     // gap to a ground enemy before backing off
+    private static final float JUMP_MIN = 140f;      // a bird closer than this would meet us mid-air
+    private static final float APEX = 112f;          // jump height (Pavo jumpVel² / 2g) ...
+    private static final float RISE = 0.5f;          // ... reached after this many seconds
+    private static final float BULLET_Y = 0.6f;      // muzzle height, as in World.step
+    private static final float BULLET_H = 12f;
+
+    public float skill;
+    public int player = 0;              // 0 = Pavo, 1 = the co-op partner
+    public float dt = 1f / 60f;         // tick length the World is stepped with
+    private final RandomXS128 random;
+    private boolean left, right;        // keys held since the last reaction
+
+    // nearest bird ahead: its last vertical step and, once seen, the tick / height of a bob's top
+    private Enemy watched;
+    private float watchedDy;
+    private int crestTick = -1;
+    private float crestY;
+
+    public BotController(float skill, long seed) {
+        this.skill = skill;
+        this.random = new RandomXS128(seed, 0xB07L);
+    }
+
+    /** Sets this tick's intents (held keys overwritten, one shot at most; never pauses). */
+    public void poll(World world, InputFrame in) {
+        Pavo p = player == 1 ? world.partner : world.pavo;
+        in.pauseToggle = false;
+        in.shoot = false;
+        in.jump = false;
+        if (random.nextFloat() >= skill) {
+            in.left = left;
+            in.right = right;
+            return;
+        }
+
+        float cx = p.x + p.w * 0.5f;
+        Enemy ground = null, bird = null;
+        float groundGap = Float.MAX_VALUE, birdGap = Float.MAX_VALUE;
+        boolean birdTooClose = false;
+        for (int i = 0; i < world.enemies.size; i++) {
+            Enemy e = world.enemies.get(i);
+            if (!e.alive) continue;
+            float gap = gap(p, e);
+            if (e instanceof Bird) {
+                if (e.x + e.w < p.x) continue;          // already past, flying away
+                if (gap < JUMP_MIN) birdTooClose = true;
+                else if (gap < birdGap) { birdGap = gap; bird = e; }
+            } else if (gap < groundGap) {
+                groundGap = gap;
+                ground = e;
+            }
+        }
+        watch(bird, world.tick);
+
+        left = right = false;
+        if (ground != null && groundGap < KEEP_AWAY) {
+            // back off; cornered against a wall, jump over it instead
+            boolean behind = ground.x > p.x;
+            if (behind ? p.x > 0f : p.x + p.w < World.WIDTH) {
+                left = behind;
+                right = !behind;
+            } else {
+                left = !behind;
+                right = behind;
+                in.jump = p.onGround;
+            }
+        }
+
+        if (p.onGround && bird != null && crestTick >= 0 && !birdTooClose) {
+            float at = RISE + Math.max(0f, birdGap - Bird.SPEED * RISE) / (BulletSystem.SPEED + Bird.SPEED);
+            if (birdY(world.tick, at) < APEX + p.h * BULLET_Y + BULLET_H) in.jump = true;
+        }
+
+        if (p.canShoot()) {
+            Enemy target = null;
+            float best = Float.MAX_VALUE;
+            for (int i = 0; i < world.enemies.size; i++) {
+                Enemy e = world.enemies.get(i);
+                if (!e.alive) continue;
+                float d = Math.abs(e.x + e.w * 0.5f - cx);
+                if (d < best && meets(p, e, world.tick)) { best = d; target = e; }
+            }
+            if (target != null) {
+                // face it this tick (World applies movement before the shot)
+                boolean toRight = target.x + target.w * 0.5f > cx;
+                left = !toRight;
+                right = toRight;
+                in.shoot = true;
+            }
+        }
+        in.left = left;
+        in.right = right;
+    }
+
+    private void watch(Enemy bird, int tick) {
+        if (bird == null) return;
+        float dy = bird.y - bird.prevY;
+        if (bird != watched) {
+            watched = bird;
+            crestTick = -1;
+        } else if (watchedDy > 0f && dy <= 0f) {
+            crestTick = tick;
+            crestY = bird.y;
+        }
+        watchedDy = dy;
+    }
+
+    /** Watched bird's height the given number of seconds from now (Bird's bob, from its last top). */
+    private float birdY(int tick, float ahead) {
+        float t = (tick - crestTick) * dt + ahead;
+        return crestY - Bird.BOB + Bird.BOB * (float) Math.cos(Bird.BOB_RATE * t);
+    }
+
+    /** Whether a bullet fired now would be at the enemy's height when it gets there. */
+    private boolean meets(Pavo p, Enemy e, int tick) {
+        float ey = e.y;
+        if (e == watched && crestTick >= 0) ey = birdY(tick, gap(p, e) / (BulletSystem.SPEED + Bird.SPEED));
+        float by = p.y + p.h * BULLET_Y;
+        return by < ey + e.h && by + BULLET_H > ey;
+    }
+
+    private static float gap(Pavo p, Enemy e) {
+        return e.x > p.x ? e.x - (p.x + p.w) : p.x - (e.x + e.w);
+    }
+}
@@ -1,79 +1,178 @@
 package com.g6.pavovival.actions;
 
-import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 import com.g6.pavovival.entities.*;
+import com.g6.pavovival.world.GameEvents;
+import com.g6.pavovival.world.World;
 
 
 public class CollisionController {
 
-    private final Rectangle r1 = new Rectangle();
-    private final Rectangle r2 = new Rectangle();
+    // grid cell ~ a bit bigger than a bird, smaller than a minion
+    private static final float CELL_SIZE = 64f;
+
+    private static final float BW = BulletSystem.WIDTH;
+    private static final float BH = BulletSystem.HEIGHT;
+
+    // broadphase: enemies and boss bullets bucketed by position, rebuilt every tick
+    private final SpatialGrid enemyGrid  = new SpatialGrid(World.WIDTH, World.HEIGHT, CELL_SIZE);
+    private final SpatialGrid bulletGrid = new SpatialGrid(World.WIDTH, World.HEIGHT, CELL_SIZE);
+    private final IntArray candidates = new IntArray();
+
+    /*
+     * Everything here reads the entities' cached boxes (Entity.box, kept in sync by update())
+     * and the bullet arrays directly, and reuses the grids / candidate list,
+     * so a steady-state tick allocates nothing. What happened goes into GameEvents;
+     * kills are counted, sounds played etc. by its listeners after the tick.
+     */
+
+    /**
+     * Rebuilds the broadphase from the current positions. Call once per tick after everything
+     * has moved and before the collision passes below, which only look at what is in the grids.
+     */
+    public void updateBroadphase(Array<Enemy> enemies, BulletSystem bullets) {
+        enemyGrid.clear();
+        if (enemies != null) {
+            for (int j = 0; j < enemies.size; j++) {
+                Enemy e = enemies.get(j);
+                if (e == null || !e.alive) continue;
+                enemyGrid.insert(j, e.box);
+            }
+        }
+
+        bulletGrid.clear();
+        if (bullets != null) {
+            for (int i = 0; i < bullets.size; i++) {
+                if (!bullets.alive[i] || bullets.owner[i] != BulletSystem.ENEMY) continue;
+                bulletGrid.insert(i, bullets.x[i], bullets.y[i], BW, BH);
+            }
+        }
+    }
 
-    /** Player bullets hit enemies; report kills to LevelController. */
-    public void playerBulletsVsEnemies(
-        Array<Bullet> playerBullets,
+    /** Player bullets hit enemies (HIT / KILL events). Returns the number of hits. */
+    public int playerBulletsVsEnemies(
+        BulletSystem bullets,
         Array<Enemy> enemies,
-        LevelController levels,
-        Sound hitSfx
+        GameEvents events
     ) {
-        if (playerBullets == null || enemies == null || levels == null) return;
+        if (bullets == null || enemies == null || events == null) return 0;
 
-        for (int i = 0; i < playerBullets.size; i++) {
-            Bullet b = playerBullets.get(i);
-            if (b == null || !b.alive) continue;
+        int hits = 0;
+        for (int i = 0; i < bullets.size; i++) {
+            if (!bullets.alive[i] || bullets.owner[i] != BulletSystem.PLAYER) continue;
 
-            r1.set(b.bounds());
+            float bx = bullets.x[i], by = bullets.y[i];
 
-            for (int j = 0; j < enemies.size; j++) {
+            // first enemy in list order that overlaps (same pick as a full scan would make)
+            enemyGrid.query(bx, by, BW, BH, candidates);
+            int hit = -1;
+            for (int k = 0; k < candidates.size; k++) {
+                int j = candidates.get(k);
+                if ((hit != -1 && j >= hit) || j >= enemies.size) continue;
                 Enemy e = enemies.get(j);
                 if (e == null || !e.alive) continue;
 
-                r2.set(e.bounds());
-
-                if (r1.overlaps(r2)) {
-                    // Apply damage and consume bullet
-                    e.hit(b.damage());
-                    b.alive = false;
-
-                    // Play hit sound (safe)
-                    if (hitSfx != null) {
-                        try {
-                            hitSfx.play(0.9f);
-                        } catch (Exception ignored) {
-                            // never crash if sound missing
-                        }
-                    }
+                if (overlaps(bx, by, e.box)) hit = j;
+            }
+            if (hit == -1) continue;
 
-                    if (!e.alive && (e instanceof Minion || e instanceof Bird)) {
-                        levels.onMinionKilled();
-                    }
+            // Apply damage and consume bullet
+            hit(enemies.get(hit), bullets, i, events);
+            hits++;
+        }
+        return hits;
+    }
 
-                    break; // stop checking this bullet
+    /*
+     * playerBulletsVsEnemies split in two for ParallelTick. Overlaps don't change during the pass
+     * (nothing moves), only which enemies are still alive, so a bullet's serial pick is the first
+     * still-alive enemy among the ones it overlapped at the start: collect those per bullet on any
+     * number of threads, then apply in bullet order on one.
+     */
+
+    /**
+     * Appends "bullet, n, enemy indexes (ascending)" to out for each player bullet in [from, to)
+     * that overlaps a live enemy. Only reads the grid / entities, so disjoint ranges can run at
+     * once, each with its own candidates and out.
+     */
+    public void collectPlayerHits(BulletSystem bullets, Array<Enemy> enemies, int from, int to,
+                                  IntArray candidates, IntArray out) {
+        for (int i = from; i < to; i++) {
+            if (!bullets.alive[i] || bullets.owner[i] != BulletSystem.PLAYER) continue;
+
+            float bx = bullets.x[i], by = bullets.y[i];
+            enemyGrid.query(bx, by, BW, BH, candidates);
+            int start = out.size;
+            for (int k = 0; k < candidates.size; k++) {
+                int j = candidates.get(k);
+                if (j >= enemies.size) continue;
+                Enemy e = enemies.get(j);
+                if (e == null || !e.alive || !overlaps(bx, by, e.box)) continue;
+
+                // insert sorted, skipping duplicates from enemies spanning several cells
+                int p = out.size;
+                while (p > start + 2 && out.get(p - 1) > j) p--;
+                if (p == start) {
+                    out.add(i);
+                    out.add(0);
+                    p = out.size;
+                } else if (p > start + 2 && out.get(p - 1) == j) {
+                    continue;
                 }
+                out.insert(p, j);
+                out.incr(start + 1, 1);
+            }
+        }
+    }
+
+    /** Applies what collectPlayerHits found, exactly as playerBulletsVsEnemies would. Returns hits. */
+    public int applyPlayerHits(BulletSystem bullets, Array<Enemy> enemies, GameEvents events, IntArray found) {
+        int hits = 0;
+        for (int k = 0; k < found.size; ) {
+            int i = found.get(k), n = found.get(k + 1);
+            int first = k + 2;
+            k = first + n;
+
+            for (int m = first; m < k; m++) {
+                Enemy e = enemies.get(found.get(m));
+                if (!e.alive) continue;
+
+                hit(e, bullets, i, events);
+                hits++;
+                break;
             }
         }
+        return hits;
+    }
+
+    private static void hit(Enemy e, BulletSystem bullets, int i, GameEvents events) {
+        e.hit(bullets.damage[i]);
+        bullets.alive[i] = false;
+        events.add(GameEvents.HIT, e.kind, bullets.x[i], bullets.y[i]);
+        if (!e.alive) events.add(GameEvents.KILL, e.kind, e.x + e.w * 0.5f, e.y + e.h * 0.5f);
     }
 
-    /** Boss bullets hit Pavo. */
-    /** Boss (enemy) bullets hit Pavo. */
-    public void enemyBulletsVsPavo(Array<Bullet> enemyBullets, Pavo p) {
-        if (enemyBullets == null || p == null || !p.alive) return;
+    /** Boss (enemy) bullets hit Pavo (PLAYER_DAMAGED events). */
+    public void enemyBulletsVsPavo(BulletSystem bullets, Pavo p, GameEvents events) {
+        if (bullets == null || p == null || !p.alive) return;
 
-        r1.set(p.bounds());
+        Rectangle box = p.box;
 
-        for (int i = 0; i < enemyBullets.size; i++) {
-            Bullet b = enemyBullets.get(i);
-            if (b == null || !b.alive) continue;
+        bulletGrid.query(box, candidates);
+        for (int k = 0; k < candidates.size; k++) {
+            int i = candidates.get(k);
+            if (i >= bullets.size) continue;
+            if (!bullets.alive[i]) continue;   // also skips duplicates from multi-cell bullets
 
-            r2.set(b.bounds());
-            if (r1.overlaps(r2)) {
-                b.alive = false;
+            if (overlaps(bullets.x[i], bullets.y[i], box)) {
+                bullets.alive[i] = false;
 
                 // use bullet damage if available, else 1
-                int dmg = (b.damage() > 0) ? b.damage() : 1;
+                int dmg = (bullets.damage[i] > 0) ? bullets.damage[i] : 1;
                 p.hp -= dmg;
+                events.add(GameEvents.PLAYER_DAMAGED, dmg, p.x + p.w * 0.5f, p.y + p.h * 0.5f);
 
                 // kill + clamp so HP never goes negative
                 if (p.hp <= 0) {
@@ -87,14 +186,21 @@ public class CollisionController {
     public boolean enemiesVsPavo(Array<Enemy> enemies, Pavo p) {
         if (enemies == null || p == null) return false;
 
-        r1.set(p.bounds());
-        for (int i = 0; i < enemies.size; i++) {
-            Enemy e = enemies.get(i);
+        Rectangle box = p.box;
+        enemyGrid.query(box, candidates);
+        for (int k = 0; k < candidates.size; k++) {
+            int j = candidates.get(k);
+            if (j >= enemies.size) continue;
+            Enemy e = enemies.get(j);
             if (e == null || !e.alive) continue;
 
-            r2.set(e.bounds());
-            if (r1.overlaps(r2)) return true;
+            if (box.overlaps(e.box)) return true;
         }
         return false;
     }
+
+    /** Same test as Rectangle.overlaps, for a bullet-sized box at (bx, by). */
+    private static boolean overlaps(float bx, float by, Rectangle r) {
+        return bx < r.x + r.width && bx + BW > r.x && by < r.y + r.height && by + BH > r.y;
+    }
 }
@@ -0,0 +1,193 @@
+package com.g6.pavovival.actions;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeBitmapFontData;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeFontParameter;
+
+import java.util.zip.CRC32;
+
+/**
+ * Bakes FreeType fonts into a .fnt + page PNGs once and loads those on later starts.
+ * Files are keyed by a checksum of the TTF's bytes and every generator parameter, so
+ * replacing the font or changing a size or colour just bakes a new entry. Only CHARACTERS are rasterized; that's everything the
+ * HUD and banners print. If baking fails (read-only disk, ...) the font is generated in
+ * memory like before.
+ */
+public class FontCache {
+    // HUD: "STAGE : 1", "MINIONS : 3", "HP : 5", "FINAL BOSS HP : 40"; banners: "GAME OVER", "YOU WIN!", "PAUSED"
+    public static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 :!-%";
+
+    // bump when the file layout below changes, so old entries are ignored
+    private static final int FORMAT = 1;
+    private static final int PAGE_SIZE = 512;
+
+    private final FileHandle dir;
+    public int hits, bakes, fallbacks;
+
+    public FontCache() {
+        this(Gdx.files.isExternalStorageAvailable()
+            ? Gdx.files.external(".pavovival/fonts")
+            : Gdx.files.local("cache/fonts"));
+    }
+
+    public FontCache(FileHandle dir) {
+        this.dir = dir;
+    }
+
+    /** Cached font for ttf + p; bakes it first if needed. p.characters is replaced by CHARACTERS. */
+    public BitmapFont get(String name, FileHandle ttf, FreeTypeFontParameter p) {
+        p.characters = CHARACTERS;
+        FileHandle fnt = dir.child(name + "-" + key(ttf, p) + ".fnt");
+
+        if (fnt.exists()) {
+            try {
+                BitmapFont f = load(fnt, p);
+                hits++;
+                return f;
+            } catch (RuntimeException e) {
+                Gdx.app.log("Fonts", "Cached " + fnt.name() + " unreadable — baking again. " + e.getMessage());
+            }
+        }
+
+        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(ttf);
+        try {
+            try {
+                bake(generator, p, fnt);
+                BitmapFont f = load(fnt, p);
+                bakes++;
+                Gdx.app.log("Fonts", "Baked " + fnt.path());
+                return f;
+            } catch (RuntimeException e) {
+                Gdx.app.log("Fonts", "Could not bake " + fnt.name() + " — generating in memory. " + e.getMessage());
+            }
+            p.packer = null;
+            fallbacks++;
+            return generator.generateFont(p);
+        } finally {
+            generator.dispose();
+        }
+    }
+
+    private static BitmapFont load(FileHandle fnt, FreeTypeFontParameter p) {
+        BitmapFont f = new BitmapFont(fnt, p.flip);
+        for (TextureRegion r : f.getRegions()) r.getTexture().setFilter(p.minFilter, p.magFilter);
+        return f;
+    }
+
+    private void bake(FreeTypeFontGenerator generator, FreeTypeFontParameter p, FileHandle fnt) {
+        PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, 1, false,
+            new PixmapPacker.SkylineStrategy());
+        p.packer = packer;
+        FreeTypeBitmapFontData data = null;
+        try {
+            data = generator.generateData(p);
+            String base = fnt.nameWithoutExtension();
+            int pages = packer.getPages().size;
+            for (int i = 0; i < pages; i++) {
+                PixmapIO.writePNG(fnt.sibling(base + "_" + i + ".png"), packer.getPages().get(i).getPixmap());
+            }
+            // .fnt last: its presence is what marks the entry as complete
+            fnt.writeString(describe(data, base, pages), false, "UTF-8");
+        } finally {
+            p.packer = null;
+            if (data != null && data.regions != null) {
+                for (TextureRegion r : data.regions) r.getTexture().dispose();
+            }
+            packer.dispose();
+        }
+    }
+
+    // AngelCode text format as read by BitmapFontData.load; the metrics line keeps FreeType's exact values
+    private static String describe(BitmapFontData data, String base, int pages) {
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append("info face=\"").append(base).append("\" padding=")
+            .append((int)data.padTop).append(',').append((int)data.padRight).append(',')
+            .append((int)data.padBottom).append(',').append((int)data.padLeft).append(" spacing=0,0\n");
+        sb.append("common lineHeight=").append(Math.round(data.lineHeight))
+            .append(" base=").append(Math.round(data.capHeight + data.ascent))
+            .append(" scaleW=").append(PAGE_SIZE).append(" scaleH=").append(PAGE_SIZE)
+            .append(" pages=").append(pages).append(" packed=0\n");
+        for (int i = 0; i < pages; i++) {
+            sb.append("page id=").append(i).append(" file=\"").append(base).append('_').append(i).append(".png\"\n");
+        }
+
+        if (data.missingGlyph != null) appendGlyph(sb, 0, data.missingGlyph, data.flipped);
+        for (int i = 0; i < CHARACTERS.length(); i++) {
+            char c = CHARACTERS.charAt(i);
+            Glyph g = data.getGlyph(c);
+            if (g != null) appendGlyph(sb, c, g, data.flipped);
+        }
+
+        StringBuilder kernings = new StringBuilder();
+        int count = 0;
+        for (int i = 0; i < CHARACTERS.length(); i++) {
+            Glyph g = data.getGlyph(CHARACTERS.charAt(i));
+            if (g == null) continue;
+            for (int j = 0; j < CHARACTERS.length(); j++) {
+                char second = CHARACTERS.charAt(j);
+                int amount = g.getKerning(second);
+                if (amount == 0) continue;
+                kernings.append("kerning first=").append((int)CHARACTERS.charAt(i))
+                    .append(" second=").append((int)second).append(" amount=").append(amount).append('\n');
+                count++;
+            }
+        }
+        sb.append("kernings count=").append(count).append('\n').append(kernings);
+
+        sb.append("metrics ascent=").append(data.ascent)
+            .append(" descent=").append(data.descent)
+            .append(" down=").append(data.down)
+            .append(" capHeight=").append(data.capHeight)
+            .append(" lineHeight=").append(data.lineHeight)
+            .append(" spaceXAdvance=").append(data.spaceXadvance)
+            .append(" xHeight=").append(data.xHeight).append('\n');
+        return sb.toString();
+    }
+
+    private static void appendGlyph(StringBuilder sb, int id, Glyph g, boolean flipped) {
+        // unflipped, the loader turns yoffset back into -(height + yoffset)
+        sb.append("char id=").append(id)
+            .append(" x=").append(g.srcX).append(" y=").append(g.srcY)
+            .append(" width=").append(g.width).append(" height=").append(g.height)
+            .append(" xoffset=").append(g.xoffset).append(" yoffset=").append(flipped ? g.yoffset : -(g.height + g.yoffset))
+            .append(" xadvance=").append(g.xadvance)
+            .append(" page=").append(g.page).append(" chnl=0\n");
+    }
+
+    private static String key(FileHandle ttf, FreeTypeFontParameter p) {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append(FORMAT).append('|').append(ttf.length()).append(',').append(checksum(ttf))
+            .append('|').append(p.size).append('|').append(p.mono).append('|').append(p.hinting)
+            .append('|').append(color(p.color)).append('|').append(p.gamma).append('|').append(p.renderCount)
+            .append('|').append(p.borderWidth).append('|').append(color(p.borderColor))
+            .append('|').append(p.borderStraight).append('|').append(p.borderGamma)
+            .append('|').append(p.shadowOffsetX).append(',').append(p.shadowOffsetY).append('|').append(color(p.shadowColor))
+            .append('|').append(p.spaceX).append(',').append(p.spaceY)
+            .append('|').append(p.padTop).append(',').append(p.padLeft).append(',').append(p.padBottom).append(',').append(p.padRight)
+            .append('|').append(p.kerning).append('|').append(p.flip)
+            .append('|').append(p.minFilter).append('|').append(p.magFilter)
+            .append('|').append(p.characters);
+        return Integer.toHexString(sb.toString().hashCode());
+    }
+
+    // the whole file, not just its length: a replaced font of the same size mustn't reuse old glyphs
+    private static long checksum(FileHandle ttf) {
+        CRC32 crc = new CRC32();
+        crc.update(ttf.readBytes());
+        return crc.getValue();
+    }
+
+    private static String color(Color c) {
+        return c == null ? "-" : c.toString();
+    }
+}
@@ -8,18 +8,43 @@ public class InputController {
 
     public boolean paused = false;
 
-    public void handle (Pavo pavo) {
-        boolean left = Gdx.input.isKeyPressed(Input.Keys.A) || Gdx.input.isKeyPressed(Input.Keys.LEFT);
-        boolean right = Gdx.input.isKeyPressed(Input.Keys.D) || Gdx.input.isKeyPressed(Input.Keys.RIGHT);
+    /**
+     * Reads the keyboard into an InputFrame (no side effects on the game).
+     * Held keys are overwritten; one-shot presses are OR-ed in and stay set until
+     * {@link InputFrame#consumeEdges()}, so a frame that runs no tick doesn't lose them.
+     */
+    public void poll(InputFrame in) {
+        in.left  = Gdx.input.isKeyPressed(Input.Keys.A) || Gdx.input.isKeyPressed(Input.Keys.LEFT);
+        in.right = Gdx.input.isKeyPressed(Input.Keys.D) || Gdx.input.isKeyPressed(Input.Keys.RIGHT);
+        in.jump  = Gdx.input.isKeyPressed(Input.Keys.W) || Gdx.input.isKeyPressed(Input.Keys.SPACE);
+        in.shoot |= Gdx.input.isKeyJustPressed(Input.Keys.F);
+        in.pauseToggle |= Gdx.input.isKeyPressed(Input.Keys.ESCAPE) || Gdx.input.isKeyJustPressed(Input.Keys.P);
+    }
+
+    /** F3 pressed this frame (profiler overlay; not part of the game input). */
+    public boolean profilerToggled() {
+        return Gdx.input.isKeyJustPressed(Input.Keys.F3);
+    }
+
+    /** F5 / F9 pressed this frame (quick save / quick load; not part of the game input either). */
+    public boolean quickSaveRequested() {
+        return Gdx.input.isKeyJustPressed(Input.Keys.F5);
+    }
+
+    public boolean quickLoadRequested() {
+        return Gdx.input.isKeyJustPressed(Input.Keys.F9);
+    }
 
-        if (left && !right) pavo.moveLeft();
-        else if (right && !left) pavo.moveRight();
+    /** Applies movement / jump / pause from a frame to Pavo. */
+    public void apply(InputFrame in, Pavo pavo) {
+        if (in.left && !in.right) pavo.moveLeft();
+        else if (in.right && !in.left) pavo.moveRight();
         else pavo.stopX();
 
-        if (Gdx.input.isKeyPressed(Input.Keys.W) || Gdx.input.isKeyPressed(Input.Keys.SPACE))
+        if (in.jump)
             pavo.jump();
 
-        if (Gdx.input.isKeyPressed(Input.Keys.ESCAPE) || Gdx.input.isKeyJustPressed(Input.Keys.P))
+        if (in.pauseToggle)
             paused = !paused;
     }
 }
@@ -0,0 +1,45 @@
+package com.g6.pavovival.actions;
+
+/**
+ * One tick worth of player intent. Filled by {@link InputController} from the keyboard,
+ * or by anything else (tests, headless runs) that wants to drive the World.
+ */
+public class InputFrame {
+    /** toBits() of the one-shot presses (shoot, pauseToggle). */
+    public static final int EDGE_BITS = 8 | 16;
+
+    public boolean left, right;
+    public boolean jump;
+    public boolean shoot;        // F (edge-triggered)
+    public boolean pauseToggle;  // ESC / P
+
+    /** Forgets the one-shot presses (shoot / pause) once a tick has used them. */
+    public void consumeEdges() {
+        shoot = pauseToggle = false;
+    }
+
+    public void clear() {
+        left = right = jump = shoot = pauseToggle = false;
+    }
+
+    /** Packs the frame into the low 5 bits (the replay format stores this). */
+    public int toBits() {
+        return (left ? 1 : 0) | (right ? 2 : 0) | (jump ? 4 : 0) | (shoot ? 8 : 0) | (pauseToggle ? 16 : 0);
+    }
+
+    public void fromBits(int bits) {
+        left = (bits & 1) != 0;
+        right = (bits & 2) != 0;
+        jump = (bits & 4) != 0;
+        shoot = (bits & 8) != 0;
+        pauseToggle = (bits & 16) != 0;
+    }
+
+    public void set(InputFrame other) {
+        left = other.left;
+        right = other.right;
+        jump = other.jump;
+        shoot = other.shoot;
+        pauseToggle = other.pauseToggle;
+    }
+}
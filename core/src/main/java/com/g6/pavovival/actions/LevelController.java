@@ -1,22 +1,30 @@
 package com.g6.pavovival.actions;
 
+import com.g6.pavovival.entities.Enemy;
+import com.g6.pavovival.world.GameEvents;
+
+import java.nio.ByteBuffer;
+
 //  Handles wave logic, level progression, and boss conditions.
+//  Kills arrive as GameEvents.KILL, counted once per tick.
 
-public class LevelController {
+public class LevelController implements GameEvents.Listener {
 
     public int level = 1;               // 1 → 2 → 3
     public int spawnedInWave = 0;       // spawned in current wave
     public int killedInWave  = 0;       // killed in current wave
     public int totalKills    = 0;
     public boolean bossSpawned = false;
+    public int waveSizeOverride = -1;   // > 0 replaces the table below (stress runs)
+
+    // kills needed per level: L1, L2 (+5), L3 (+10); balancing runs change these
+    public int[] waveSizes = { 5, 10, 15 };
 
     // === Dynamic wave size ===
     public int waveSize() {
-        switch (level) {
-            case 2: return 10;  // +5 over L1
-            case 3: return 15;  // +10 over L1
-            default: return 5;  // level 1
-        }
+        if (waveSizeOverride > 0) return waveSizeOverride;
+        int i = Math.max(1, Math.min(level, waveSizes.length)) - 1;
+        return waveSizes[i];
     }
 
     // === Called when an enemy is spawned ===
@@ -30,6 +38,14 @@ public class LevelController {
         totalKills++;
     }
 
+    // === Tick's events: count minion / bird kills ===
+    @Override
+    public void onEvents(GameEvents events, long from, long to) {
+        for (long s = from; s < to; s++) {
+            if (events.type(s) == GameEvents.KILL && events.a(s) != Enemy.BOSS) onMinionKilled();
+        }
+    }
+
     // === Check if we can spawn more enemies ===
     public boolean canSpawnMoreThisWave() {
         return spawnedInWave < waveSize();
@@ -41,11 +57,13 @@ public class LevelController {
     }
 
     // === Move to next level when cleared ===
-    public void advanceLevelIfCleared() {
+    public boolean advanceLevelIfCleared() {
         if (isWaveCleared() && level < 3) {
             level++;
             resetWave();
+            return true;
         }
+        return false;
     }
 
     // === After L3 cleared, trigger boss ===
@@ -53,6 +71,20 @@ public class LevelController {
         return (level == 3) && isWaveCleared() && !bossSpawned;
     }
 
+    // === Save / load (SaveState) ===
+    public void writeState(ByteBuffer b) {
+        b.putInt(level).putInt(spawnedInWave).putInt(killedInWave).putInt(totalKills);
+        b.put(bossSpawned ? (byte) 1 : 0);
+    }
+
+    public void readState(ByteBuffer b) {
+        level = b.getInt();
+        spawnedInWave = b.getInt();
+        killedInWave = b.getInt();
+        totalKills = b.getInt();
+        bossSpawned = b.get() != 0;
+    }
+
     // === Reset counters for next wave/level ===
     public void resetWave() {
         spawnedInWave = 0;
@@ -0,0 +1,115 @@
+package com.g6.pavovival.actions;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Opens music tracks only when they're needed. At most two tracks are open: the one
+ * playing and the one the game most likely moves to next (level 1 -> 2 -> 3 -> boss -> win);
+ * anything else is disposed. Game over is opened on demand since it can follow anything.
+ * Each track uses the first file found: the transcodeAudio OGG, then .ogg/.mp3/.wav in audio/.
+ * A track with no file just stays silent.
+ */
+public class MusicController {
+    public static final int LEVEL_1 = 0, LEVEL_2 = 1, LEVEL_3 = 2, BOSS = 3, GAME_OVER = 4, WIN = 5;
+
+    private static final String[] NAMES = { "level1", "level2", "level3", "boss", "gameover", "win" };
+    private static final String[] CANDIDATES = { "audio/ogg/%s.ogg", "audio/%s.ogg", "audio/%s.mp3", "audio/%s.wav" };
+
+    private final Music[] open = new Music[NAMES.length];
+    private final String[] paths = new String[NAMES.length]; // resolved lazily, "" = no file
+    private int current = -1;
+
+    public int opened, disposed;
+
+    /** Stops whatever plays, starts track from the beginning and keeps its successor ready. */
+    public void play(int track) {
+        stop();
+        current = track;
+
+        int next = next(track);
+        for (int i = 0; i < open.length; i++) {
+            if (i != track && i != next) close(i);
+        }
+
+        Music m = open(track);
+        if (m != null) m.play();
+        if (next >= 0) open(next);
+    }
+
+    public void playLevel(int level) {
+        // sanitize: treat 0 or out-of-range as level 1
+        int lvl = (level < 1 || level > 3) ? 1 : level;
+        play(LEVEL_1 + lvl - 1);
+    }
+
+    public void stop() {
+        for (Music m : open) if (m != null) m.stop();
+    }
+
+    public int current() {
+        return current;
+    }
+
+    /** Number of tracks currently open. */
+    public int openCount() {
+        int n = 0;
+        for (Music m : open) if (m != null) n++;
+        return n;
+    }
+
+    static int next(int track) {
+        switch (track) {
+            case LEVEL_1: return LEVEL_2;
+            case LEVEL_2: return LEVEL_3;
+            case LEVEL_3: return BOSS;
+            case BOSS:    return WIN;
+            default:      return -1; // game over / win are the end
+        }
+    }
+
+    private Music open(int track) {
+        if (open[track] != null) return open[track];
+        String path = resolve(track);
+        if (path == null) return null;
+
+        try {
+            Music m = Gdx.audio.newMusic(Gdx.files.internal(path));
+            boolean loops = track != GAME_OVER && track != WIN;
+            m.setLooping(loops);
+            m.setVolume(loops ? 0.8f : 0.9f); // 0.0–1.0
+            open[track] = m;
+            opened++;
+            return m;
+        } catch (GdxRuntimeException e) {
+            Gdx.app.log("MUSIC", "Could not open " + path + " — " + NAMES[track] + " stays silent. " + e.getMessage());
+            paths[track] = "";
+            return null;
+        }
+    }
+
+    private void close(int track) {
+        if (open[track] == null) return;
+        open[track].dispose();
+        open[track] = null;
+        disposed++;
+    }
+
+    private String resolve(int track) {
+        if (paths[track] == null) {
+            paths[track] = "";
+            for (String c : CANDIDATES) {
+                String p = String.format(c, NAMES[track]);
+                if (Gdx.files.internal(p).exists()) { paths[track] = p; break; }
+            }
+            if (paths[track].isEmpty()) Gdx.app.log("MUSIC", "No file for " + NAMES[track] + " — skipped.");
+        }
+        return paths[track].isEmpty() ? null : paths[track];
+    }
+
+    public void dispose() {
+        for (int i = 0; i < open.length; i++) close(i);
+        current = -1;
+    }
+}
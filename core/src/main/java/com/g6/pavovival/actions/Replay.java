@@ -0,0 +1,136 @@
+package com.g6.pavovival.actions;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A World seed plus the input of every tick, enough to replay a run exactly.
+ * In memory it's one byte per tick (InputFrame.toBits); on disk it's run-length encoded:
+ *
+ * <pre>
+ * int   magic "PVRP"
+ * byte  version
+ * long  seed
+ * float tick rate
+ * int   ticks
+ * long  World.checksum() after the last tick (0 = unknown)
+ * int   runs, then per run: byte input bits, varint length
+ * </pre>
+ */
+public class Replay {
+    private static final int MAGIC = 0x50565250; // "PVRP"
+    private static final int VERSION = 1;
+
+    public final long seed;
+    public final float tickRate;
+    public long checksum = 0L;
+
+    private byte[] inputs = new byte[4096];
+    private int ticks = 0;
+
+    public Replay(long seed, float tickRate) {
+        this.seed = seed;
+        this.tickRate = tickRate;
+    }
+
+    public int ticks() {
+        return ticks;
+    }
+
+    /** Appends the input of one tick. */
+    public void record(InputFrame in) {
+        if (ticks == inputs.length) {
+            byte[] grown = new byte[inputs.length * 2];
+            System.arraycopy(inputs, 0, grown, 0, ticks);
+            inputs = grown;
+        }
+        inputs[ticks++] = (byte) in.toBits();
+    }
+
+    /** Forgets every tick from `ticks` on (a quick load went back to that tick). */
+    public void truncate(int ticks) {
+        this.ticks = Math.max(0, Math.min(this.ticks, ticks));
+    }
+
+    /** Fills out with the input of tick; false once the replay has run out. */
+    public boolean play(int tick, InputFrame out) {
+        if (tick >= ticks) return false;
+        out.fromBits(inputs[tick]);
+        return true;
+    }
+
+    public void write(FileHandle file) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file.write(false)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seed);
+            out.writeFloat(tickRate);
+            out.writeInt(ticks);
+            out.writeLong(checksum);
+
+            int runs = 0;
+            for (int i = 0; i < ticks; i++) if (i == 0 || inputs[i] != inputs[i - 1]) runs++;
+            out.writeInt(runs);
+
+            for (int i = 0; i < ticks; ) {
+                int j = i + 1;
+                while (j < ticks && inputs[j] == inputs[i]) j++;
+                out.writeByte(inputs[i]);
+                writeVarInt(out, j - i);
+                i = j;
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    public static Replay read(FileHandle file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(file.read()));
+        try {
+            if (in.readInt() != MAGIC) throw new IOException(file.path() + " is not a replay");
+            int version = in.readByte();
+            if (version != VERSION) throw new IOException("Unsupported replay version " + version);
+
+            Replay r = new Replay(in.readLong(), in.readFloat());
+            int ticks = in.readInt();
+            r.checksum = in.readLong();
+            r.inputs = new byte[Math.max(1, ticks)];
+
+            int runs = in.readInt();
+            for (int k = 0; k < runs; k++) {
+                byte bits = in.readByte();
+                int n = readVarInt(in);
+                if (r.ticks + n > ticks) throw new IOException("Replay runs exceed its tick count");
+                for (int i = 0; i < n; i++) r.inputs[r.ticks++] = bits;
+            }
+            if (r.ticks != ticks) throw new IOException("Replay is truncated");
+            return r;
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int v) throws IOException {
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int v = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new IOException("Bad varint in replay");
+    }
+}
@@ -0,0 +1,178 @@
+package com.g6.pavovival.actions;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Sound;
+
+/**
+ * Collects sound triggers during a frame and plays them in one drain() call.
+ * Triggers of the same sound within a frame become one voice, a bit louder per extra
+ * trigger. Each sound has its own voice cap (its oldest voice is cut when it's full), and
+ * when all voices are busy a new sound steals the oldest voice of lower or equal priority,
+ * or is dropped. Voice lengths are given up front since Sound can't report them.
+ */
+public class SfxMixer {
+    // how much louder each doubling of same-frame triggers gets (x1.41 for 2, x2 for 4 ...)
+    private static final float MERGE_GAIN = 0.5f;
+
+    private final int maxSounds;
+    private final Sound[] sounds;
+    private final float[] volume;
+    private final float[] length;
+    private final int[] maxVoices;
+    private final int[] priority;
+
+    // this frame's triggers
+    private final int[] pending;
+    private final float[] pendingScale;
+
+    // playing voices, unordered
+    private final int[] voiceSound;
+    private final long[] voiceId;
+    private final float[] voiceEnd;
+    private int voices = 0;
+
+    private float time = 0f;
+
+    public int played, merged, stolen, dropped;
+
+    public SfxMixer(int maxSounds, int totalVoices) {
+        this.maxSounds = maxSounds;
+        sounds = new Sound[maxSounds];
+        volume = new float[maxSounds];
+        length = new float[maxSounds];
+        maxVoices = new int[maxSounds];
+        priority = new int[maxSounds];
+        pending = new int[maxSounds];
+        pendingScale = new float[maxSounds];
+        voiceSound = new int[totalVoices];
+        voiceId = new long[totalVoices];
+        voiceEnd = new float[totalVoices];
+    }
+
+    /**
+     * Sets up slot id; a null sound makes its triggers silent. Swapping the sound forgets the old
+     * one's voices and triggers without touching it (it may be unloaded already).
+     */
+    public void set(int id, Sound sound, float volume, int maxVoices, int priority, float lengthSeconds) {
+        if (sounds[id] != sound) {
+            for (int v = voices - 1; v >= 0; v--) if (voiceSound[v] == id) remove(v);
+            pending[id] = 0;
+            pendingScale[id] = 0f;
+        }
+        sounds[id] = sound;
+        this.volume[id] = volume;
+        this.maxVoices[id] = Math.max(1, maxVoices);
+        this.priority[id] = priority;
+        this.length[id] = lengthSeconds;
+    }
+
+    public void trigger(int id) {
+        trigger(id, 1, 1f);
+    }
+
+    /** count triggers of sound id, each at scale times its base volume. */
+    public void trigger(int id, int count, float scale) {
+        if (count <= 0 || sounds[id] == null) return;
+        pending[id] += count;
+        pendingScale[id] = Math.max(pendingScale[id], scale);
+    }
+
+    /** Plays everything triggered since the last drain, highest priority first. Call once per frame. */
+    public void drain(float delta) {
+        time += delta;
+        expire();
+
+        while (true) {
+            int id = -1;
+            for (int i = 0; i < maxSounds; i++) {
+                if (pending[i] > 0 && (id == -1 || priority[i] > priority[id])) id = i;
+            }
+            if (id == -1) break;
+
+            int n = pending[id];
+            float vol = volume[id] * pendingScale[id] * (float)Math.pow(n, MERGE_GAIN);
+            pending[id] = 0;
+            pendingScale[id] = 0f;
+            merged += n - 1;
+            start(id, Math.min(1f, vol));
+        }
+    }
+
+    private void start(int id, float vol) {
+        // per-sound cap: cut this sound's oldest voice
+        if (count(id) >= maxVoices[id]) {
+            stop(oldest(id, Integer.MAX_VALUE));
+            stolen++;
+        }
+        // all voices busy: steal from something no more important, or give up
+        if (voices == voiceSound.length) {
+            int v = oldest(-1, priority[id]);
+            if (v == -1) { dropped++; return; }
+            stop(v);
+            stolen++;
+        }
+
+        long handle;
+        try {
+            handle = sounds[id].play(vol);
+        } catch (Exception e) {
+            // never crash if the audio device is gone
+            Gdx.app.log("SFX", "play failed: " + e.getMessage());
+            return;
+        }
+        if (handle == -1) { dropped++; return; } // backend out of sources
+
+        voiceSound[voices] = id;
+        voiceId[voices] = handle;
+        voiceEnd[voices] = time + length[id];
+        voices++;
+        played++;
+    }
+
+    private void expire() {
+        for (int v = voices - 1; v >= 0; v--) {
+            if (voiceEnd[v] <= time) remove(v);
+        }
+    }
+
+    private int count(int id) {
+        int n = 0;
+        for (int v = 0; v < voices; v++) if (voiceSound[v] == id) n++;
+        return n;
+    }
+
+    // oldest voice of sound id (or of any sound when id == -1) with priority <= maxPriority
+    private int oldest(int id, int maxPriority) {
+        int best = -1;
+        for (int v = 0; v < voices; v++) {
+            int s = voiceSound[v];
+            if (id != -1 && s != id) continue;
+            if (priority[s] > maxPriority) continue;
+            if (best == -1 || voiceEnd[v] - length[s] < voiceEnd[best] - length[voiceSound[best]]) best = v;
+        }
+        return best;
+    }
+
+    private void stop(int v) {
+        if (v == -1) return;
+        sounds[voiceSound[v]].stop(voiceId[v]);
+        remove(v);
+    }
+
+    private void remove(int v) {
+        voices--;
+        voiceSound[v] = voiceSound[voices];
+        voiceId[v] = voiceId[voices];
+        voiceEnd[v] = voiceEnd[voices];
+    }
+
+    /** Voices currently playing. */
+    public int voices() {
+        return voices;
+    }
+
+    public void stopAll() {
+        for (int v = voices - 1; v >= 0; v--) stop(v);
+        for (int i = 0; i < maxSounds; i++) { pending[i] = 0; pendingScale[i] = 0f; }
+    }
+}
@@ -0,0 +1,89 @@
+package com.g6.pavovival.actions;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid broadphase over the world. Items are stored by index (into the caller's Array)
+ * in every cell their box touches; boxes outside the world are clamped into the border cells,
+ * so nothing is ever missed. Rebuilt from scratch each tick with clear() + insert().
+ * After the first few ticks it stops growing and allocates nothing.
+ */
+public class SpatialGrid {
+
+    private final float cellSize;
+    private final int cols, rows;
+
+    // per-cell singly linked lists kept in flat arrays
+    private final int[] head;
+    private int[] next = new int[256];
+    private int[] item = new int[256];
+    private int count = 0;
+
+    public SpatialGrid(float worldW, float worldH, float cellSize) {
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (int) Math.ceil(worldW / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(worldH / cellSize));
+        this.head = new int[cols * rows];
+        clear();
+    }
+
+    public void clear() {
+        Arrays.fill(head, -1);
+        count = 0;
+    }
+
+    public void insert(int index, Rectangle r) {
+        insert(index, r.x, r.y, r.width, r.height);
+    }
+
+    public void insert(int index, float x, float y, float w, float h) {
+        int c0 = col(x), c1 = col(x + w);
+        int r0 = row(y), r1 = row(y + h);
+        for (int cy = r0; cy <= r1; cy++) {
+            for (int cx = c0; cx <= c1; cx++) {
+                if (count == item.length) grow();
+                int cell = cy * cols + cx;
+                item[count] = index;
+                next[count] = head[cell];
+                head[cell] = count++;
+            }
+        }
+    }
+
+    /**
+     * Adds every index stored in the cells touched by r to out (out is cleared first).
+     * An index can show up more than once when its box spans several cells.
+     */
+    public void query(Rectangle r, IntArray out) {
+        query(r.x, r.y, r.width, r.height, out);
+    }
+
+    public void query(float x, float y, float w, float h, IntArray out) {
+        out.clear();
+        int c0 = col(x), c1 = col(x + w);
+        int r0 = row(y), r1 = row(y + h);
+        for (int cy = r0; cy <= r1; cy++) {
+            for (int cx = c0; cx <= c1; cx++) {
+                for (int e = head[cy * cols + cx]; e != -1; e = next[e]) out.add(item[e]);
+            }
+        }
+    }
+
+    private int col(float x) {
+        int c = (int) Math.floor(x / cellSize);
+        return c < 0 ? 0 : (c >= cols ? cols - 1 : c);
+    }
+
+    private int row(float y) {
+        int r = (int) Math.floor(y / cellSize);
+        return r < 0 ? 0 : (r >= rows ? rows - 1 : r);
+    }
+
+    private void grow() {
+        next = Arrays.copyOf(next, next.length * 2);
+        item = Arrays.copyOf(item, item.length * 2);
+    }
+}
@@ -1,27 +1,40 @@
 package com.g6.pavovival.actions;
 
-import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.graphics.Texture;
 import com.g6.pavovival.entities.Enemy;
+import com.g6.pavovival.entities.EntityPools;
 import com.g6.pavovival.entities.Minion;
 import com.g6.pavovival.entities.Pavo;
 import com.g6.pavovival.entities.Bird;
 
+import java.nio.ByteBuffer;
+
 /**
  * Spawns ground minions and (from L2) flying birds.
  */
 public class Spawn {
 
     private float spawnTimer = 0f;
-    private float spawnInterval = 1.1f;   // seconds between spawns
+    public float spawnInterval = 1.1f;    // seconds between spawns
+
+    // overrides for stress runs; the defaults keep the normal difficulty curve
+    public int maxActive = -1;            // -1: use maxActiveForLevel
+    public int perUpdate = 1;             // spawns allowed in one update
+    public float birdChance = 0.45f;      // from L2
+    public float spreadX = 0f;            // spawn up to this far left of the right edge
+    public float minionSpeed = 75f;       // balancing
 
     private final AssetController assets;
     private final LevelController levels;
+    private final EntityPools pools;
+    private final RandomXS128 random;   // this system's own stream, seeded by the World
 
-    public Spawn(AssetController assets, LevelController levels) {
+    public Spawn(AssetController assets, LevelController levels, EntityPools pools, RandomXS128 random) {
         this.assets = assets;
         this.levels = levels;
+        this.pools = pools;
+        this.random = random;
     }
 
     // limit active enemies based on level for difficulty curve
@@ -33,6 +46,17 @@ public class Spawn {
         }
     }
 
+    /** Spawn timer and random stream, for a SaveState. */
+    public void writeState(ByteBuffer b) {
+        b.putFloat(spawnTimer).putLong(random.getState(0)).putLong(random.getState(1));
+    }
+
+    public void readState(ByteBuffer b) {
+        spawnTimer = b.getFloat();
+        long s0 = b.getLong();
+        random.setState(s0, b.getLong());
+    }
+
     public void update(float dt, Array<Enemy> enemies, Pavo pavo) {
         // === 1. Stop spawning if it's boss time ===
         if (levels.shouldSpawnBoss()) return;
@@ -43,26 +67,31 @@ public class Spawn {
             if (e.alive && (e instanceof Minion || e instanceof Bird)) active++;
 
         spawnTimer -= dt;
-        final int cap = maxActiveForLevel(levels.level);
-
-        boolean canSpawn = levels.canSpawnMoreThisWave()
-            && active < cap
-            && spawnTimer <= 0f;
+        final int cap = maxActive >= 0 ? maxActive : maxActiveForLevel(levels.level);
 
         // === 3. Spawn logic ===
-        if (canSpawn) {
-            boolean spawnBird = (levels.level >= 2) && MathUtils.randomBoolean(0.45f); // ~45% birds for L2/L3
+        for (int n = 0; n < perUpdate; n++) {
+            boolean canSpawn = levels.canSpawnMoreThisWave()
+                && active < cap
+                && spawnTimer <= 0f;
+            if (!canSpawn) break;
+
+            boolean spawnBird = (levels.level >= 2) && random.nextFloat() < birdChance; // ~45% birds for L2/L3
+            float offset = spreadX > 0f ? random.nextFloat() * spreadX : 0f;
 
-            if (spawnBird && assets.birdTexture != null) {
+            if (spawnBird) {
                 // spawn bird in higher lane so Pavo must jump-shoot
                 float startX = 980f; // right edge
-                float laneY = MathUtils.random(140f, 220f);
-                enemies.add(new Bird(assets.birdTexture, startX, laneY));
+                float laneY = 140f + random.nextFloat() * (220f - 140f);
+                enemies.add(pools.bird(assets.birdRegion, startX - offset, laneY));
             } else {
                 // spawn ground minion
-                enemies.add(new Minion(assets.minionTexture, 900, 0));
+                Minion m = pools.minion(assets.minionRegion, 900 - offset, 0);
+                m.speed = minionSpeed;
+                enemies.add(m);
             }
 
+            active++;
             levels.onMinionSpawned();
             spawnTimer = spawnInterval;
         }
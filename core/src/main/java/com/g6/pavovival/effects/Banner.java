@@ -0,0 +1,110 @@
+package com.g6.pavovival.effects;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * A centered two-colour retro banner ("GAME " + "OVER") with a soft glow behind it.
+ * The glow (the text drawn 8 times around its position) is rendered once into a texture,
+ * so a frame draws one quad for it plus the cached text glyphs.
+ */
+public class Banner implements Disposable {
+    // texture pixels per world unit, so the glow stays sharp on big windows
+    private static final int BAKE_SCALE = 2;
+
+    private final BitmapFontCache text;
+    private final float cx, cy;                 // top-left of the text, without wobble
+
+    private FrameBuffer glowBuffer;
+    private TextureRegion glow;
+    private float glowX, glowY, glowW, glowH;   // where the glow quad goes, world units
+
+    public Banner(SpriteBatch batch, BitmapFont font, float worldW, float worldH,
+                  String left, Color leftColor, String right, Color rightColor,
+                  Color glowColor, float radius, float scale) {
+        float oldScale = font.getData().scaleX;
+        font.getData().setScale(scale);
+
+        GlyphLayout layout = new GlyphLayout(font, left + right);
+        cx = (worldW - layout.width) / 2f;
+        cy = (worldH + layout.height) / 2f;
+
+        // left part, then right part immediately after it
+        text = new BitmapFontCache(font, font.usesIntegerPositions());
+        text.setColor(leftColor);
+        GlyphLayout leftLayout = text.addText(left, 0f, 0f);
+        text.setColor(rightColor);
+        text.addText(right, leftLayout.width, 0f);
+
+        bakeGlow(batch, font, left + right, layout, glowColor, radius);
+
+        font.getData().setScale(oldScale);
+    }
+
+    private void bakeGlow(SpriteBatch batch, BitmapFont font, String s, GlyphLayout layout,
+                          Color glowColor, float radius) {
+        // room for the offsets plus border / shadow / ascent around the layout box
+        float margin = radius + font.getLineHeight() * 0.5f;
+        glowW = layout.width + margin * 2f;
+        glowH = layout.height + margin * 2f;
+        glowX = cx - margin;
+        glowY = cy - layout.height - margin;
+
+        glowBuffer = new FrameBuffer(Pixmap.Format.RGBA8888,
+            Math.max(1, (int)(glowW * BAKE_SCALE)), Math.max(1, (int)(glowH * BAKE_SCALE)), false);
+        Texture t = glowBuffer.getColorBufferTexture();
+        t.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        glow = new TextureRegion(t);
+        glow.flip(false, true);
+
+        Matrix4 oldProjection = new Matrix4(batch.getProjectionMatrix());
+        glowBuffer.begin();
+        Gdx.gl.glClearColor(0f, 0f, 0f, 0f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        batch.getProjectionMatrix().setToOrtho2D(0f, 0f, glowW, glowH);
+        batch.setProjectionMatrix(batch.getProjectionMatrix());
+        // premultiplied "over", so drawing the texture later blends like the 8 draws did
+        batch.setBlendFunctionSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.begin();
+        Color old = new Color(font.getColor());
+        font.setColor(glowColor.r, glowColor.g, glowColor.b, 0.35f);
+        float x = cx - glowX, y = cy - glowY;
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                if (dx == 0 && dy == 0) continue;
+                font.draw(batch, s, x + dx * radius, y + dy * radius);
+            }
+        }
+        font.setColor(old);
+        batch.end();
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        glowBuffer.end();
+        batch.setProjectionMatrix(oldProjection);
+    }
+
+    /** Draws glow and text; wobbleY moves the text only. Call between batch.begin() / end(). */
+    public void draw(SpriteBatch batch, float wobbleY) {
+        batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.draw(glow, glowX, glowY, glowW, glowH);
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+
+        text.setPosition(cx, cy + wobbleY);
+        text.draw(batch);
+    }
+
+    @Override
+    public void dispose() {
+        if (glowBuffer != null) glowBuffer.dispose();
+    }
+}
@@ -0,0 +1,53 @@
+package com.g6.pavovival.effects;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+
+/**
+ * "PREFIX" + a number, kept as ready-made glyph quads in a BitmapFontCache.
+ * The glyphs are only laid out again when the number, the colour or the font scale
+ * changes; moving the text just shifts the cached vertices. Nothing allocates per frame.
+ */
+public class CachedText {
+    private final BitmapFontCache cache;
+    private final StringBuilder text = new StringBuilder(32);
+    private final int prefixLength;
+
+    private int value;
+    private float scale = Float.NaN;
+    private final Color color = new Color();
+
+    /** Size of the current text, as laid out by the font. */
+    public float width, height;
+
+    public CachedText(BitmapFont font, String prefix) {
+        cache = new BitmapFontCache(font, font.usesIntegerPositions());
+        text.append(prefix);
+        prefixLength = prefix.length();
+    }
+
+    /** Lays the text out again if value, colour or the font's current scale differ from last time. */
+    public void set(int value, Color color) {
+        float s = cache.getFont().getData().scaleX;
+        if (value == this.value && s == scale && color.equals(this.color)) return;
+        this.value = value;
+        this.scale = s;
+        this.color.set(color);
+
+        text.setLength(prefixLength);
+        text.append(value);
+        cache.setColor(color);
+        GlyphLayout layout = cache.setText(text, 0f, 0f);
+        width = layout.width;
+        height = layout.height;
+    }
+
+    /** Draws with the top-left of the text at x, y (same anchor as BitmapFont.draw). */
+    public void draw(Batch batch, float x, float y) {
+        cache.setPosition(x, y);
+        cache.draw(batch);
+    }
+}
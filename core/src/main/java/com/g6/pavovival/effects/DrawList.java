@@ -0,0 +1,79 @@
+package com.g6.pavovival.effects;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import java.util.Arrays;
+
+/**
+ * Collects the frame's sprites, drops the off-screen ones, and draws the rest sorted by
+ * layer, then texture, then submission order, so SpriteBatch only flushes when it really has to.
+ * Storage is reused between frames; nothing is allocated once it has grown to the busiest frame.
+ */
+public class DrawList {
+
+    // draw order, back to front (same order the screen used to draw in)
+    public static final int LAYER_PLAYER  = 0;
+    public static final int LAYER_ENEMIES = 1;
+    public static final int LAYER_BULLETS = 2;
+
+    private float viewX0, viewY0, viewX1, viewY1;
+
+    private int size = 0;
+    private long[] keys = new long[256];
+    private TextureRegion[] regions = new TextureRegion[256];
+    private float[] xs = new float[256], ys = new float[256], ws = new float[256], hs = new float[256];
+
+    /** Sprites queued / skipped as off-screen in the last flushed frame. */
+    public int drawn = 0;
+    public int culled = 0;
+    private int culledNow = 0;
+
+    public DrawList(float viewW, float viewH) {
+        setView(0, 0, viewW, viewH);
+    }
+
+    /** Visible world area; anything fully outside it is not drawn. */
+    public void setView(float x, float y, float w, float h) {
+        viewX0 = x; viewY0 = y; viewX1 = x + w; viewY1 = y + h;
+    }
+
+    public void add(int layer, TextureRegion region, float x, float y, float w, float h) {
+        if (region == null) return;
+        if (x + w < viewX0 || x > viewX1 || y + h < viewY0 || y > viewY1) {
+            culledNow++;
+            return;
+        }
+        if (size == keys.length) grow();
+
+        // layer (8 bits) | texture handle (24 bits) | slot (32 bits)
+        long tex = region.getTexture().getTextureObjectHandle() & 0xFFFFFFL;
+        keys[size] = ((long) layer << 56) | (tex << 32) | size;
+        regions[size] = region;
+        xs[size] = x; ys[size] = y; ws[size] = w; hs[size] = h;
+        size++;
+    }
+
+    /** Draws everything queued since the last flush (batch must be begun) and empties the list. */
+    public void flush(SpriteBatch batch) {
+        Arrays.sort(keys, 0, size);
+        for (int k = 0; k < size; k++) {
+            int i = (int) keys[k];
+            batch.draw(regions[i], xs[i], ys[i], ws[i], hs[i]);
+        }
+        drawn = size;
+        culled = culledNow;
+        culledNow = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        int cap = keys.length * 2;
+        keys = Arrays.copyOf(keys, cap);
+        regions = Arrays.copyOf(regions, cap);
+        xs = Arrays.copyOf(xs, cap);
+        ys = Arrays.copyOf(ys, cap);
+        ws = Arrays.copyOf(ws, cap);
+        hs = Arrays.copyOf(hs, cap);
+    }
+}
@@ -2,23 +2,33 @@ package com.g6.pavovival.effects;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.g6.pavovival.actions.AssetController;
 
+/** Top-of-screen stats. Each line is a CachedText, so glyphs are only rebuilt when a value changes. */
 public class Hud {
-    private final GlyphLayout layout = new GlyphLayout();
     private final AssetController assets;
+    private CachedText stageText, minionsText, hpText, partnerText, bossText;
 
     public Hud(AssetController assets) {
         this.assets = assets;
         if (assets.hudFont != null) {
             assets.hudFont.getData().markupEnabled = true;
             assets.hudFont.setUseIntegerPositions(true);
+            stageText   = new CachedText(assets.hudFont, "STAGE : ");
+            minionsText = new CachedText(assets.hudFont, "MINIONS : ");
+            hpText      = new CachedText(assets.hudFont, "HP : ");
+            partnerText = new CachedText(assets.hudFont, "P2 HP : ");
+            bossText    = new CachedText(assets.hudFont, "FINAL BOSS HP : ");
         }
     }
 
     public void draw(SpriteBatch batch, int level, int minions, int hp, int bossHP) {
+        draw(batch, level, minions, hp, -1, bossHP);
+    }
+
+    /** partnerHp < 0 = single player; otherwise the co-op partner's HP goes under Pavo's. */
+    public void draw(SpriteBatch batch, int level, int minions, int hp, int partnerHp, int bossHP) {
         if (assets.hudFont == null) return;
 
         final float pad = 16f;
@@ -34,27 +44,31 @@ public class Hud {
         float leftX = Math.round(pad);
 
         // LEFT column
-        assets.hudFont.setColor(Color.WHITE);
-        assets.hudFont.draw(batch, "STAGE : " + level, leftX, topY);
+        stageText.set(level, Color.WHITE);
+        stageText.draw(batch, leftX, topY);
 
         float minionsY = Math.round(topY - line);
-        assets.hudFont.draw(batch, "MINIONS : " + minions, leftX, minionsY);
+        minionsText.set(minions, Color.WHITE);
+        minionsText.draw(batch, leftX, minionsY);
 
         // RIGHT column (HP right-aligned)
-        String hpText = "HP : " + hp;
-        layout.setText(assets.hudFont, hpText);
-        float hpX = Math.round(Gdx.graphics.getWidth() - pad - layout.width);
         Color hpColor = hp <= 2 ? Color.RED : (hp <= 5 ? Color.ORANGE : Color.LIME);
-        assets.hudFont.setColor(hpColor);
-        assets.hudFont.draw(batch, hpText, hpX, topY);
+        hpText.set(hp, hpColor);
+        float hpX = Math.round(Gdx.graphics.getWidth() - pad - hpText.width);
+        hpText.draw(batch, hpX, topY);
+
+        float rightY = minionsY;
+        if (partnerHp >= 0) {
+            partnerText.set(partnerHp, partnerHp <= 2 ? Color.RED : (partnerHp <= 5 ? Color.ORANGE : Color.LIME));
+            partnerText.draw(batch, Math.round(Gdx.graphics.getWidth() - pad - partnerText.width), rightY);
+            rightY = Math.round(rightY - line);
+        }
 
-        // Boss HP (second right line)
+        // Boss HP (next right line)
         if (bossHP > 0) {
-            String bossText = "FINAL BOSS HP : " + bossHP;
-            layout.setText(assets.hudFont, bossText);
-            float bossX = Math.round(Gdx.graphics.getWidth() - pad - layout.width);
-            assets.hudFont.setColor(Color.WHITE);
-            assets.hudFont.draw(batch, bossText, bossX, minionsY);
+            bossText.set(bossHP, Color.WHITE);
+            float bossX = Math.round(Gdx.graphics.getWidth() - pad - bossText.width);
+            bossText.draw(batch, bossX, rightY);
         }
     }
 }
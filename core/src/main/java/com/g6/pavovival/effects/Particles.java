@@ -0,0 +1,134 @@
+package com.g6.pavovival.effects;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.NumberUtils;
+
+/**
+ * Hit sparks, death bursts and muzzle flashes: a fixed number of particles in flat arrays,
+ * all drawn with one region (the atlas' "particle" dot, so it shares the sprites' texture and
+ * doesn't flush the batch). Emitting writes over the next slot in a ring, so once full the
+ * oldest particle is recycled; memory never changes after construction.
+ * Purely cosmetic: runs on render time with MathUtils.random, never touches the World.
+ */
+public class Particles {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final float GRAVITY = -600f;
+    private static final float DRAG = 2.5f;      // velocity lost per second, as a fraction
+
+    public final int capacity;
+
+    private final float[] x, y, vx, vy, life, maxLife, size;
+    private final int[] rgb;                     // ABGR8888 without alpha (alpha = remaining life)
+    private int next = 0;                        // slot the next particle goes into
+    private int used = 0;                        // slots ever written, up to capacity
+
+    /** Particles alive after the last update(). */
+    public int live = 0;
+    /** Emitted while every slot was busy (a still-live particle was recycled). */
+    public int recycled = 0;
+
+    public Particles() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public Particles(int capacity) {
+        this.capacity = capacity;
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        life = new float[capacity];
+        maxLife = new float[capacity];
+        size = new float[capacity];
+        rgb = new int[capacity];
+    }
+
+    public void emit(float px, float py, float pvx, float pvy, float seconds, float pixels, Color color) {
+        int i = next;
+        if (life[i] > 0f) recycled++;
+        x[i] = px;
+        y[i] = py;
+        vx[i] = pvx;
+        vy[i] = pvy;
+        life[i] = maxLife[i] = seconds;
+        size[i] = pixels;
+        rgb[i] = abgr(color);
+        next = (i + 1 == capacity) ? 0 : i + 1;
+        if (used < capacity) used++;
+    }
+
+    /**
+     * count particles from (px, py) in random directions within spread radians of angle,
+     * speed and life varied by +-40%.
+     */
+    public void burst(float px, float py, int count, float angle, float spread, float speed,
+                      float seconds, float pixels, Color color) {
+        for (int n = 0; n < count; n++) {
+            float a = angle + MathUtils.random(-spread, spread);
+            float s = speed * MathUtils.random(0.6f, 1.4f);
+            emit(px, py, MathUtils.cos(a) * s, MathUtils.sin(a) * s,
+                seconds * MathUtils.random(0.6f, 1.4f), pixels, color);
+        }
+    }
+
+    /** Bullet hit: a few fast sparks, mostly back the way the bullet came. */
+    public void hitSparks(float px, float py) {
+        burst(px, py, 6, MathUtils.PI, 1.2f, 260f, 0.25f, 6f, Color.GOLD);
+    }
+
+    /** Enemy died: a bigger, slower burst all around. */
+    public void deathBurst(float px, float py, Color color) {
+        burst(px, py, 24, 0f, MathUtils.PI, 220f, 0.6f, 10f, color);
+    }
+
+    /** Shot fired: a short bright puff at the muzzle. */
+    public void muzzleFlash(float px, float py) {
+        burst(px, py, 4, 0f, MathUtils.PI, 120f, 0.08f, 8f, Color.WHITE);
+    }
+
+    /** Moves and ages every particle. */
+    public void update(float dt) {
+        float damp = Math.max(0f, 1f - DRAG * dt);
+        int alive = 0;
+        for (int i = 0; i < used; i++) {
+            if (life[i] <= 0f) continue;
+            life[i] -= dt;
+            vx[i] *= damp;
+            vy[i] = vy[i] * damp + GRAVITY * dt;
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            if (life[i] > 0f) alive++;
+        }
+        live = alive;
+    }
+
+    /** Draws every live particle with region, fading out and shrinking with age (batch must be begun). */
+    public void draw(Batch batch, TextureRegion region) {
+        if (region == null || live == 0) return;
+        float old = batch.getPackedColor();
+        for (int i = 0; i < used; i++) {
+            float l = life[i];
+            if (l <= 0f) continue;
+            float t = l / maxLife[i];
+            int alpha = (int) (t * 255f);
+            batch.setPackedColor(NumberUtils.intToFloatColor(rgb[i] | (alpha << 24)));
+            float s = size[i] * (0.5f + 0.5f * t);
+            batch.draw(region, x[i] - s * 0.5f, y[i] - s * 0.5f, s, s);
+        }
+        batch.setPackedColor(old);
+    }
+
+    public void clear() {
+        for (int i = 0; i < used; i++) life[i] = 0f;
+        live = 0;
+    }
+
+    private static int abgr(Color c) {
+        return ((int) (255 * c.b) << 16) | ((int) (255 * c.g) << 8) | (int) (255 * c.r);
+    }
+}
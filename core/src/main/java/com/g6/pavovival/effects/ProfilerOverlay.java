@@ -0,0 +1,72 @@
+package com.g6.pavovival.effects;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.g6.pavovival.world.FrameProfiler;
+
+/**
+ * p50 / p95 / p99 per phase plus draw calls and entity counts, bottom-left under the HUD.
+ * The text is rebuilt into one StringBuilder every REFRESH frames, not every frame.
+ */
+public class ProfilerOverlay {
+    private static final int REFRESH = 30;
+    private static final float[] PCTS = { 50f, 95f, 99f };
+
+    private final FrameProfiler profiler;
+    private final BitmapFont font;
+    private final StringBuilder text = new StringBuilder(1024);
+    private final long[] pct = new long[PCTS.length];
+    private int sinceRefresh = REFRESH;
+
+    public boolean visible = false;
+
+    public ProfilerOverlay(FrameProfiler profiler, BitmapFont font) {
+        this.profiler = profiler;
+        this.font = font;
+    }
+
+    public void draw(SpriteBatch batch, float x, float y) {
+        if (!visible || font == null) return;
+        if (++sinceRefresh >= REFRESH) {
+            sinceRefresh = 0;
+            rebuild();
+        }
+        font.getData().setScale(1f);
+        font.setColor(Color.WHITE);
+        font.draw(batch, text, x, y);
+    }
+
+    private void rebuild() {
+        text.setLength(0);
+        text.append("phase        p50    p95    p99 (ms, last ").append(profiler.frames()).append(" frames)\n");
+        for (int p = 0; p < FrameProfiler.PHASES; p++) {
+            profiler.percentiles(p, PCTS, pct);
+            pad(text, FrameProfiler.NAMES[p], 11);
+            for (long ns : pct) millis(text.append(' '), ns);
+            text.append('\n');
+        }
+        text.append("calls ").append(profiler.lastCount(FrameProfiler.RENDER_CALLS))
+            .append("  enemies ").append(profiler.lastCount(FrameProfiler.ENEMY_COUNT))
+            .append("  bullets ").append(profiler.lastCount(FrameProfiler.BULLET_COUNT))
+            .append("  ticks ").append(profiler.lastCount(FrameProfiler.TICKS))
+            .append("  particles ").append(profiler.lastCount(FrameProfiler.PARTICLE_COUNT));
+    }
+
+    private static void pad(StringBuilder sb, String s, int width) {
+        sb.append(s);
+        for (int i = s.length(); i < width; i++) sb.append(' ');
+    }
+
+    // ns as "  0.123" without going through float formatting
+    private static void millis(StringBuilder sb, long ns) {
+        long us = ns / 1000;
+        long ms = us / 1000, frac = us % 1000;
+        if (ms < 10) sb.append("  ");
+        else if (ms < 100) sb.append(' ');
+        sb.append(ms).append('.');
+        if (frac < 100) sb.append('0');
+        if (frac < 10) sb.append('0');
+        sb.append(frac);
+    }
+}
@@ -1,31 +1,80 @@
 package com.g6.pavovival.entities;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Pool;
 
-public class Bird extends Enemy {
-    private float vx = -110f;
+import java.nio.ByteBuffer;
+
+public class Bird extends Enemy implements Pool.Poolable {
+    // flight: leftwards at SPEED, bobbing BOB px up and down at BOB_RATE rad/s
+    public static final float SPEED = 110f;
+    public static final float BOB = 20f;
+    public static final float BOB_RATE = 6f;
+
+    private float vx = -SPEED;
     private float t  = 0f;
-    private final float baseY;
+    private float baseY;
 
     // set the on-screen height you want (match your minion height)
     private static final float TARGET_HEIGHT = 60f;
 
-    public Bird(Texture texture, float x, float y) {
-        super(texture, x, y, texture.getWidth(), texture.getHeight());
+    /** Blank bird for pools; call init() before use. */
+    public Bird() {
+        super(BIRD, null, 0, 0, TARGET_HEIGHT, TARGET_HEIGHT);
         this.hp = 3;
+    }
+
+    public Bird(TextureRegion region, float x, float y) {
+        this();
+        init(region, x, y);
+    }
+
+    public Bird init(TextureRegion region, float x, float y) {
+        this.region = region;
+        this.x = x;
+        this.y = y;
         this.baseY = y;
 
-        // force render size regardless of source pixels
+        // force render size regardless of source pixels (square when headless / no texture)
         this.h = TARGET_HEIGHT;
-        this.w = TARGET_HEIGHT * (texture.getWidth() / (float) texture.getHeight());
+        this.w = region != null
+            ? TARGET_HEIGHT * (region.getRegionWidth() / (float) region.getRegionHeight())
+            : TARGET_HEIGHT;
+        savePrevious();
+        syncBox();
+        return this;
+    }
+
+    @Override
+    public void reset() {
+        region = null;
+        x = y = baseY = t = 0f;
+        vx = -SPEED;
+        hp = 3;
+        alive = true;
+    }
+
+    @Override
+    public void writeState(ByteBuffer b) {
+        super.writeState(b);
+        b.putFloat(vx).putFloat(t).putFloat(baseY);
+    }
+
+    @Override
+    public void readState(ByteBuffer b) {
+        super.readState(b);
+        vx = b.getFloat();
+        t = b.getFloat();
+        baseY = b.getFloat();
     }
 
     @Override
     public void update(float dt) {
         t += dt;
         x += vx * dt;
-        y = baseY + 20f * MathUtils.sin(6f * t);
+        y = baseY + BOB * MathUtils.sin(BOB_RATE * t);
         if (x + w < -16) alive = false;
+        syncBox();
     }
 }
@@ -1,7 +1,9 @@
 package com.g6.pavovival.entities;
 
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
 
 public class Boss extends Enemy {
     private float speed   = 60f;
@@ -11,11 +13,14 @@ public class Boss extends Enemy {
 
     // shooting
     private float shootTimer = 0f;
-    private float shootInterval = 1.1f; // seconds
+    public float shootInterval = 1.1f;  // seconds (World sets it, for balancing runs)
+
+    private final Random random;         // seeded by the World, so runs can be replayed
 
-    public Boss(Texture tex, float x, float y) {
-        super(tex, x, y, 248, 248); // bigger
+    public Boss(TextureRegion region, float x, float y, Random random) {
+        super(BOSS, region, x, y, 248, 248); // bigger
         this.hp = 5;
+        this.random = random;
     }
 
     @Override
@@ -27,25 +32,41 @@ public class Boss extends Enemy {
 
         if (jumpTimer > 0)  jumpTimer  -= dt;
         if (shootTimer > 0) shootTimer -= dt;
+        syncBox();
+    }
+
+    @Override
+    public void writeState(ByteBuffer b) {
+        super.writeState(b);
+        b.putFloat(jumpTimer).putFloat(shootTimer).putFloat(shootInterval);
+    }
+
+    @Override
+    public void readState(ByteBuffer b) {
+        super.readState(b);
+        jumpTimer = b.getFloat();
+        shootTimer = b.getFloat();
+        shootInterval = b.getFloat();
     }
 
     public void pursue(Pavo p) {
         vx = (p.x > x) ? speed : -speed;
-        if (jumpTimer <= 0 && Math.random() < 0.004) {
+        if (jumpTimer <= 0 && random.nextDouble() < 0.004) {
             if (y == 0) { vy = jumpVel; jumpTimer = 1.5f; }
         }
     }
 
-    // shoot toward pavo
-    public void maybeShoot(Array<Bullet> enemyBullets, Texture bossBulletTex, Pavo target) {
-        if (shootTimer > 0) return;
+    /** Shoots toward Pavo when the cooldown is over; returns the new bullet's slot, or -1. */
+    public int maybeShoot(BulletSystem bullets, Pavo target) {
+        if (shootTimer > 0) return -1;
         int dir = (target.x < this.x) ? -1 : 1; // shoot toward Pavo
-        Bullet b = Bullet.enemyBullet(bossBulletTex,
+        int slot = bullets.add(
             this.x + (dir == 1 ? this.w : -8),
             this.y + this.h * 0.55f,
-            dir);
+            dir,
+            BulletSystem.ENEMY);
 
-        enemyBullets.add(b);
         shootTimer = shootInterval;
+        return slot;
     }
 }
@@ -0,0 +1,153 @@
+package com.g6.pavovival.entities;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.g6.pavovival.effects.DrawList;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Every live bullet (Pavo's and the boss's) in flat parallel arrays instead of one object each.
+ * Slots [0, size) are in use; dead bullets are swap-removed by compact(), so the order of
+ * bullets is not stable between ticks. Arrays only grow (doubling) and are never shrunk.
+ */
+public class BulletSystem {
+
+    public static final byte PLAYER = 0;
+    public static final byte ENEMY  = 1;
+
+    public static final float WIDTH  = 20f;
+    public static final float HEIGHT = 12f;
+    public static final float SPEED  = 520f;
+
+    // bullets outside this x range are gone (same limits as the old Bullet entity)
+    private static final float MIN_X = -100f;
+    private static final float MAX_X = 2000f;
+
+    public int size = 0;
+    public int peak = 0;          // most bullets alive at once
+
+    public float[] x, y, vx;
+    public int[] damage;
+    public byte[] owner;
+    public boolean[] alive;
+
+    public BulletSystem() {
+        this(256);
+    }
+
+    public BulletSystem(int capacity) {
+        capacity = Math.max(capacity, 16);
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        damage = new int[capacity];
+        owner = new byte[capacity];
+        alive = new boolean[capacity];
+    }
+
+    /** Fires a bullet; facing is +1 (right) or -1 (left). Returns its slot for this tick. */
+    public int add(float px, float py, int facing, byte from) {
+        if (size == x.length) grow();
+        int i = size++;
+        x[i] = px;
+        y[i] = py;
+        vx[i] = SPEED * facing;
+        damage[i] = 1;
+        owner[i] = from;
+        alive[i] = true;
+        if (size > peak) peak = size;
+        return i;
+    }
+
+    /** Moves every bullet and marks the ones that left the play area as dead. */
+    public void integrate(float dt) {
+        integrate(0, size, dt);
+    }
+
+    /** integrate() for slots [from, to) only; disjoint ranges can run on different threads. */
+    public void integrate(int from, int to, float dt) {
+        final float[] x = this.x, vx = this.vx;
+        final boolean[] alive = this.alive;
+        for (int i = from; i < to; i++) {
+            float nx = x[i] + vx[i] * dt;
+            x[i] = nx;
+            if (nx < MIN_X || nx > MAX_X) alive[i] = false;
+        }
+    }
+
+    /** Removes dead bullets by moving the last live one into their slot. */
+    public void compact() {
+        int i = 0;
+        while (i < size) {
+            if (alive[i]) { i++; continue; }
+            int last = --size;
+            if (i != last) {
+                x[i] = x[last];
+                y[i] = y[last];
+                vx[i] = vx[last];
+                damage[i] = damage[last];
+                owner[i] = owner[last];
+                alive[i] = alive[last];
+            }
+        }
+    }
+
+    /** Appends size, peak and every slot (dead ones too, compact() hasn't run yet mid-tick). */
+    public void writeState(ByteBuffer b) {
+        b.putInt(size).putInt(peak);
+        for (int i = 0; i < size; i++) {
+            b.putFloat(x[i]).putFloat(y[i]).putFloat(vx[i]).putInt(damage[i]);
+            b.put(owner[i]).put(alive[i] ? (byte) 1 : 0);
+        }
+    }
+
+    public void readState(ByteBuffer b) {
+        int n = b.getInt();
+        peak = b.getInt();
+        while (x.length < n) grow();
+        for (int i = 0; i < n; i++) {
+            x[i] = b.getFloat(); y[i] = b.getFloat(); vx[i] = b.getFloat(); damage[i] = b.getInt();
+            owner[i] = b.get();
+            alive[i] = b.get() != 0;
+        }
+        size = n;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int count(byte from) {
+        int n = 0;
+        for (int i = 0; i < size; i++) if (alive[i] && owner[i] == from) n++;
+        return n;
+    }
+
+    /**
+     * Queues every live bullet, drawn `behind` seconds back along its path. Bullets fly straight,
+     * so this is render interpolation without keeping previous positions: behind = (1 - alpha) * step.
+     * The DrawList drops the ones that are off-screen (bullets live until x > 2000).
+     */
+    public void queue(DrawList list, int layer, TextureRegion playerRegion, TextureRegion enemyRegion, float behind) {
+        for (int i = 0; i < size; i++) {
+            if (!alive[i]) continue;
+            list.add(layer, owner[i] == PLAYER ? playerRegion : enemyRegion,
+                x[i] - vx[i] * behind, y[i], WIDTH, HEIGHT);
+        }
+    }
+
+    private void grow() {
+        int cap = x.length * 2;
+        x = Arrays.copyOf(x, cap);
+        y = Arrays.copyOf(y, cap);
+        vx = Arrays.copyOf(vx, cap);
+        damage = Arrays.copyOf(damage, cap);
+        owner = Arrays.copyOf(owner, cap);
+        alive = Arrays.copyOf(alive, cap);
+    }
+
+    public String stats() {
+        return "size=" + size + " peak=" + peak + " capacity=" + x.length;
+    }
+}
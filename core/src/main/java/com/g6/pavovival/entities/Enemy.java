@@ -1,12 +1,33 @@
 package com.g6.pavovival.entities;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import java.nio.ByteBuffer;
 
 public abstract class Enemy extends Entity {
+    // kind codes (GameEvents carry these instead of the object)
+    public static final int MINION = 0;
+    public static final int BIRD   = 1;
+    public static final int BOSS   = 2;
+
+    public final int kind;
     public int hp = 1;
-    public Enemy (Texture texture, float x, float y, float width, float height) {
-        super (texture,x, y, width, height);
+    public Enemy (int kind, TextureRegion region, float x, float y, float width, float height) {
+        super (region,x, y, width, height);
+        this.kind = kind;
+    }
+    @Override
+    public void writeState(ByteBuffer b) {
+        super.writeState(b);
+        b.putInt(hp);
     }
+
+    @Override
+    public void readState(ByteBuffer b) {
+        super.readState(b);
+        hp = b.getInt();
+    }
+
     public void hit (int damage) {
         hp -= damage;
         if (hp <= 0)
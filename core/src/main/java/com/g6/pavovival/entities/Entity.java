@@ -1,28 +1,79 @@
 package com.g6.pavovival.entities;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
+import com.g6.pavovival.effects.DrawList;
+
+import java.nio.ByteBuffer;
 
 public abstract class Entity {
 
     public float x, y, w, h;
     public float vx, vy;
+    public float prevX, prevY;   // position at the start of the current tick (for render interpolation)
     public boolean alive = true;
-    protected Texture tex;
+    protected TextureRegion region;
+
+    /** Collision box, updated in place at the end of every update() (never reallocated). */
+    public final Rectangle box = new Rectangle();
+
+    public Entity(TextureRegion region, float x, float y, float w, float h) {
+        this.region = region; this.x = x; this.y = y; this.w = w; this.h = h;
+        savePrevious();
+        syncBox();
+    }
 
-    public Entity(Texture tex, float x, float y, float w, float h) {
-        this.tex = tex; this.x = x; this.y = y; this.w = w; this.h = h;
+    /** Remembers the current position as the tick's start point. */
+    public final void savePrevious() {
+        prevX = x; prevY = y;
     }
 
+    /** Copies x/y/w/h into box. Call after moving an entity outside of update(). */
+    public final void syncBox() {
+        box.x = x; box.y = y; box.width = w; box.height = h;
+    }
+
+    /** Up-to-date collision box (the shared instance, do not keep or modify it). */
     public Rectangle bounds() {
-        return new Rectangle(x, y, w, h);
+        syncBox();
+        return box;
+    }
+
+    /** Appends the simulation state (not the region) for a SaveState; subclasses add their own after it. */
+    public void writeState(ByteBuffer b) {
+        b.putFloat(x).putFloat(y).putFloat(w).putFloat(h);
+        b.putFloat(vx).putFloat(vy).putFloat(prevX).putFloat(prevY);
+        b.put(alive ? (byte) 1 : 0);
+    }
+
+    /** Reads back what writeState wrote, in the same order. */
+    public void readState(ByteBuffer b) {
+        x = b.getFloat(); y = b.getFloat(); w = b.getFloat(); h = b.getFloat();
+        vx = b.getFloat(); vy = b.getFloat(); prevX = b.getFloat(); prevY = b.getFloat();
+        alive = b.get() != 0;
+        syncBox();
+    }
+
+    public TextureRegion region() {
+        return region;
     }
 
     public abstract void update(float dt);
 
     public void render(SpriteBatch batch) {
-        if (alive && tex != null)
-            batch.draw(tex, x, y, w, h);
+        render(batch, 1f);
+    }
+
+    /** Draws between the previous and current tick position; alpha 1 = current. */
+    public void render(SpriteBatch batch, float alpha) {
+        if (alive && region != null)
+            batch.draw(region, prevX + (x - prevX) * alpha, prevY + (y - prevY) * alpha, w, h);
+    }
+
+    /** Same as render, but queued into a DrawList (sorted by layer / texture, off-screen skipped). */
+    public void queue(DrawList list, int layer, float alpha) {
+        if (alive)
+            list.add(layer, region, prevX + (x - prevX) * alpha, prevY + (y - prevY) * alpha, w, h);
     }
 }
@@ -0,0 +1,98 @@
+package com.g6.pavovival.entities;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Recycles the short-lived enemies (minions, birds) so spawning doesn't create garbage.
+ * obtain via the helpers below, free() when the entity is dropped from the world.
+ * Bullets live in {@link BulletSystem}; the boss is a one-off and is not pooled.
+ */
+public class EntityPools {
+
+    // default prewarm sizes: a full wave
+    public static final int DEFAULT_MINIONS = 16;
+    public static final int DEFAULT_BIRDS   = 16;
+
+    public final TrackedPool<Minion> minions = new TrackedPool<Minion>() {
+        @Override protected Minion create() { return new Minion(); }
+    };
+    public final TrackedPool<Bird> birds = new TrackedPool<Bird>() {
+        @Override protected Bird create() { return new Bird(); }
+    };
+
+    public EntityPools() {
+        this(DEFAULT_MINIONS, DEFAULT_BIRDS);
+    }
+
+    public EntityPools(int minionCount, int birdCount) {
+        minions.prewarm(minionCount);
+        birds.prewarm(birdCount);
+    }
+
+    public Minion minion(TextureRegion region, float x, float y) {
+        return minions.obtain().init(region, x, y);
+    }
+
+    public Bird bird(TextureRegion region, float x, float y) {
+        return birds.obtain().init(region, x, y);
+    }
+
+    /** Returns a dead entity to its pool (anything not pooled, e.g. the boss, is ignored). */
+    public void free(Entity e) {
+        if (e instanceof Minion) minions.free((Minion) e);
+        else if (e instanceof Bird) birds.free((Bird) e);
+    }
+
+    /** One line per pool, e.g. for logs at the end of a session. */
+    public String stats() {
+        return "minions[" + minions.stats() + "] birds[" + birds.stats() + "]";
+    }
+
+    /**
+     * Pool that counts how often it had to allocate after prewarming (misses) and how many
+     * objects are currently handed out. peak / getFree() come from libGDX Pool.
+     */
+    public abstract static class TrackedPool<T> extends Pool<T> {
+        public int misses = 0;
+        public int inUse = 0;
+        public int peakInUse = 0;
+        private boolean warming = false;
+
+        protected TrackedPool() {
+            super(16, Integer.MAX_VALUE);
+        }
+
+        protected abstract T create();
+
+        @Override
+        protected final T newObject() {
+            if (!warming) misses++;
+            return create();
+        }
+
+        public void prewarm(int count) {
+            warming = true;
+            fill(count);
+            warming = false;
+        }
+
+        @Override
+        public T obtain() {
+            inUse++;
+            if (inUse > peakInUse) peakInUse = inUse;
+            return super.obtain();
+        }
+
+        @Override
+        public void free(T object) {
+            inUse--;
+            super.free(object);
+        }
+
+        public String stats() {
+            return "inUse=" + inUse + " peakInUse=" + peakInUse + " free=" + getFree()
+                + " peakFree=" + peak + " misses=" + misses;
+        }
+    }
+}
@@ -1,22 +1,61 @@
 package com.g6.pavovival.entities;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Pool;
 
-public class Minion extends Enemy {
-    private float speed = 75f;          // slower
+import java.nio.ByteBuffer;
+
+public class Minion extends Enemy implements Pool.Poolable {
+    public float speed = 75f;           // slower (Spawn sets it, for balancing runs)
     private float gravity = -900f;
 
-    public Minion(Texture tex, float x, float y) {
-        super(tex, x, y, 110, 110);       // bigger
+    /** Blank minion for pools; call init() before use. */
+    public Minion() {
+        super(MINION, null, 0, 0, 110, 110);    // bigger
         this.hp = 1;
     }
 
+    public Minion(TextureRegion region, float x, float y) {
+        this();
+        init(region, x, y);
+    }
+
+    public Minion init(TextureRegion region, float x, float y) {
+        this.region = region;
+        this.x = x;
+        this.y = y;
+        savePrevious();
+        syncBox();
+        return this;
+    }
+
+    @Override
+    public void reset() {
+        region = null;
+        x = y = vx = vy = 0;
+        hp = 1;
+        alive = true;
+    }
+
     @Override
     public void update(float dt) {
         vy += gravity * dt;
         y += vy * dt;
         if (y <= 0) { y = 0; vy = 0; }
         x += vx * dt;
+        syncBox();
+    }
+
+    @Override
+    public void writeState(ByteBuffer b) {
+        super.writeState(b);
+        b.putFloat(speed);
+    }
+
+    @Override
+    public void readState(ByteBuffer b) {
+        super.readState(b);
+        speed = b.getFloat();
     }
 
     public void steerToward(Pavo p) {
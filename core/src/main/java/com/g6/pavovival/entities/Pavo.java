@@ -1,6 +1,8 @@
 package com.g6.pavovival.entities;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import java.nio.ByteBuffer;
 
 public class Pavo extends Entity {
     public int hp = 3;
@@ -15,8 +17,8 @@ public class Pavo extends Entity {
     public boolean isDead(){
         return !alive || hp <= 0;
     }
-    public Pavo(Texture tex, float x, float y) {
-        super(tex, x, y, 144, 144); // bigger
+    public Pavo(TextureRegion region, float x, float y) {
+        super(region, x, y, 144, 144); // bigger
     }
 
     @Override
@@ -26,6 +28,23 @@ public class Pavo extends Entity {
         y  += vy * dt;
         if (y <= 0) { y = 0; vy = 0; onGround = true; }
         if (shootTimer > 0) shootTimer -= dt;
+        syncBox();
+    }
+
+    @Override
+    public void writeState(ByteBuffer b) {
+        super.writeState(b);
+        b.putInt(hp).putFloat(shootTimer).putInt(facing);
+        b.put(onGround ? (byte) 1 : 0);
+    }
+
+    @Override
+    public void readState(ByteBuffer b) {
+        super.readState(b);
+        hp = b.getInt();
+        shootTimer = b.getFloat();
+        facing = b.getInt();
+        onGround = b.get() != 0;
     }
 
     public void moveLeft()  {
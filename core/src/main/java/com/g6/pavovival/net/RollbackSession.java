@@ -0,0 +1,307 @@
+package com.g6.pavovival.net;
+
+import com.g6.pavovival.actions.InputFrame;
+import com.g6.pavovival.world.GameEvents;
+import com.g6.pavovival.world.SaveState;
+import com.g6.pavovival.world.World;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Runs one side of a two-player co-op World, the other side being another process with the same
+ * seed, over a {@link Link}. Each side simulates the whole World, so only inputs travel:
+ * <ul>
+ * <li>input delay: what this player presses on tick t is applied on tick t + delay, which
+ *     gives it delay ticks to reach the peer before it's needed;</li>
+ * <li>rollback: a tick whose remote input hasn't arrived yet runs with a prediction (the
+ *     peer's last held keys, no shot). The World is saved before every tick, so when the real
+ *     input differs, the session restores the first wrong tick and re-simulates up to now
+ *     inside the same advance(). At most MAX_ROLLBACK ticks run on predictions; past that it
+ *     stalls until the peer catches up;</li>
+ * <li>desync detection: every packet carries World.checksum() of the newest tick whose inputs
+ *     are final on the sender; the receiver compares it with its own hash of that tick.</li>
+ * </ul>
+ * Packets repeat every input the peer hasn't acknowledged, so losing some costs nothing.
+ * Re-simulated ticks raise their GameEvents again in World.events, which is fine for shots and
+ * hits (a spark may flash twice) but not for the ones that change the game's phase: those
+ * (BOSS_SPAWNED, LEVEL_ADVANCED, GAME_OVER, WIN) are kept per tick, replaced when the tick is
+ * re-simulated, and only added to {@link #finalEvents} once the tick is final.
+ */
+public class RollbackSession {
+
+    /** Where packets go: a UDP socket between processes (UdpLink), or anything else. */
+    public interface Link {
+        void send(ByteBuffer packet);
+
+        /** Fills packet with the next datagram (flipped); false when nothing is waiting. */
+        boolean receive(ByteBuffer packet);
+    }
+
+    public static final int MAX_ROLLBACK = 8;
+    public static final int DEFAULT_DELAY = 2;
+    public static final int MAX_DELAY = 8;
+
+    private static final int WINDOW = 64, MASK = WINDOW - 1;   // ticks of history kept
+    private static final int MAX_INPUTS = 32;                  // unacknowledged inputs resent per packet
+    private static final int MAGIC = 0x5056434F;               // "PVCO"
+    private static final int HEADER = 4 + 8 + 4 + 4 + 4 + 1;   // magic, seed, tick, ack, first, count
+    private static final int TRAILER = 4 + 8;                  // hash tick, hash
+    private static final int MAX_PHASE_EVENTS = 4;             // per tick, at most one of each kind
+
+    public final World world;
+    public final int local;            // 0 = this side plays Pavo, 1 = the partner
+    private final int remote;
+    public final int delay;
+    private final float dt;
+    private final Link link;
+
+    // per player and tick (slot tick & MASK): input bits and which tick the slot holds
+    private final int[][] input = new int[2][WINDOW];
+    private final int[][] inputTick = new int[2][WINDOW];
+    // per tick: the remote bits it ran with, the state before it, the checksum after it
+    private final int[] used = new int[WINDOW];
+    private final SaveState[] states = new SaveState[WINDOW];
+    private final long[] hash = new long[WINDOW];
+    // per tick: its phase events (type, a pairs) from the latest time it was simulated
+    private final int[] phaseCount = new int[WINDOW];
+    private final int[][] phaseEvents = new int[WINDOW][MAX_PHASE_EVENTS * 2];
+    private final InputFrame pavoFrame = new InputFrame(), partnerFrame = new InputFrame();
+    private final ByteBuffer out = ByteBuffer.allocate(HEADER + MAX_INPUTS + TRAILER);
+    private final ByteBuffer in = ByteBuffer.allocate(512);
+
+    private int localNext;             // next tick this player's input is for
+    private int confirmed;             // remote input known for every tick up to here
+    private int peerAck = -1;          // the peer has our inputs up to here
+    private int rollbackFrom = Integer.MAX_VALUE;   // first tick that ran on a wrong prediction
+    private int peerHashTick = -1;     // newest final hash from the peer not compared yet
+    private long peerHash;
+    private int hashCheckedTo = -1;
+    private int publishedTo;           // next tick whose phase events go to finalEvents
+
+    /**
+     * BOSS_SPAWNED, LEVEL_ADVANCED, GAME_OVER and WIN of every tick that ran on the peer's real
+     * input, in tick order; unlike World.events, a rollback can't take these back. Read
+     * [oldest(), head()) like any GameEvents.
+     */
+    public final GameEvents finalEvents = new GameEvents(64);
+
+    /** Whether anything has been heard from the peer yet. */
+    public boolean connected = false;
+    /** Peer's World.tick as of its latest packet. */
+    public int peerTick = 0;
+
+    // stats
+    public int rollbacks, resimulated, maxDepth, stalls;
+    public long rollbackNanos, maxRollbackNanos;
+    public int hashesChecked, desyncs, desyncTick = -1;
+    public int foreignPackets;         // wrong magic / seed, ignored
+
+    /** world must have been created with 2 players and the peer's seed; delay is clamped to 0..MAX_DELAY. */
+    public RollbackSession(World world, int local, int delay, float dt, Link link) {
+        if (world.partner == null) throw new IllegalArgumentException("RollbackSession needs a 2-player World");
+        this.world = world;
+        this.local = local;
+        this.remote = 1 - local;
+        this.delay = Math.max(0, Math.min(MAX_DELAY, delay));
+        this.dt = dt;
+        this.link = link;
+        for (int i = 0; i < WINDOW; i++) states[i] = new SaveState();
+        for (int p = 0; p < 2; p++) Arrays.fill(inputTick[p], -1);
+
+        // nobody presses anything during the first delay ticks (and the one before, the first "last known")
+        int start = world.tick;
+        for (int k = start - 1; k < start + this.delay; k++) {
+            set(0, k, 0);
+            set(1, k, 0);
+        }
+        localNext = start + this.delay;
+        confirmed = start + this.delay - 1;
+        publishedTo = start;
+    }
+
+    /**
+     * Once per tick: takes this player's intents, sends them, applies whatever the peer sent
+     * (rolling back if a prediction was wrong) and steps the World one tick. Returns false
+     * (nothing stepped, local input not taken) while too far ahead of the peer.
+     */
+    public boolean advance(InputFrame localFrame) {
+        receive();
+        if (rollbackFrom < world.tick) rollback();
+        rollbackFrom = Integer.MAX_VALUE;
+
+        int t = world.tick;
+        if (t - confirmed > MAX_ROLLBACK) {
+            stalls++;
+            send();   // keeps acks / inputs flowing so the peer can move
+            publish();
+            return false;
+        }
+
+        set(local, localNext, localFrame.toBits());
+        localNext++;
+        send();
+
+        simulate();
+        checkHash();
+        publish();
+        return true;
+    }
+
+    /**
+     * Network only, no new tick: takes in the peer's packets (rolling back as needed) and sends
+     * ours again. Lets a side that has stopped (window closed, run over) keep the peer going.
+     */
+    public void sync() {
+        receive();
+        if (rollbackFrom < world.tick) rollback();
+        rollbackFrom = Integer.MAX_VALUE;
+        send();
+        checkHash();
+        publish();
+    }
+
+    /** Whether the peer's input for every tick simulated so far is in, and the peer has ours. */
+    public boolean settled() {
+        return confirmed >= world.tick - 1 && peerAck >= localNext - 1;
+    }
+
+    /** Ticks simulated on a prediction right now (0 = everything confirmed). */
+    public int predicted() {
+        return Math.max(0, world.tick - 1 - confirmed);
+    }
+
+    private void rollback() {
+        long start = System.nanoTime();
+        int t = world.tick, from = rollbackFrom;
+        states[from & MASK].restore(world);
+        while (world.tick < t) simulate();
+
+        long nanos = System.nanoTime() - start;
+        rollbacks++;
+        resimulated += t - from;
+        maxDepth = Math.max(maxDepth, t - from);
+        rollbackNanos += nanos;
+        maxRollbackNanos = Math.max(maxRollbackNanos, nanos);
+    }
+
+    // saves, then steps world.tick with the confirmed or predicted remote input
+    private void simulate() {
+        int k = world.tick, slot = k & MASK;
+        states[slot].save(world);
+
+        int remoteBits = inputTick[remote][slot] == k
+            ? input[remote][slot]
+            : input[remote][confirmed & MASK] & ~InputFrame.EDGE_BITS;   // keep holding, don't repeat presses
+        used[slot] = remoteBits;
+        int localBits = input[local][slot];
+
+        pavoFrame.fromBits(local == 0 ? localBits : remoteBits);
+        partnerFrame.fromBits(local == 0 ? remoteBits : localBits);
+        GameEvents ev = world.events;
+        long from = ev.head();
+        world.step(dt, pavoFrame, partnerFrame);
+        hash[slot] = world.checksum();
+
+        int n = 0;
+        int[] phase = phaseEvents[slot];
+        for (long e = Math.max(from, ev.oldest()); e < ev.head() && n < MAX_PHASE_EVENTS; e++) {
+            int type = ev.type(e);
+            if (type == GameEvents.BOSS_SPAWNED || type == GameEvents.LEVEL_ADVANCED
+                || type == GameEvents.GAME_OVER || type == GameEvents.WIN) {
+                phase[n * 2] = type;
+                phase[n * 2 + 1] = ev.a(e);
+                n++;
+            }
+        }
+        phaseCount[slot] = n;
+    }
+
+    // moves the phase events of ticks that just became final into finalEvents
+    private void publish() {
+        int last = Math.min(confirmed, world.tick - 1);
+        if (publishedTo > last) return;
+        finalEvents.beginTick();
+        for (; publishedTo <= last; publishedTo++) {
+            int slot = publishedTo & MASK;
+            int[] phase = phaseEvents[slot];
+            for (int i = 0; i < phaseCount[slot]; i++) finalEvents.add(phase[i * 2], phase[i * 2 + 1]);
+        }
+        finalEvents.endTick();
+    }
+
+    private void set(int player, int tick, int bits) {
+        int slot = tick & MASK;
+        input[player][slot] = bits;
+        inputTick[player][slot] = tick;
+    }
+
+    // === wire format (big-endian) ===
+    // int magic, long seed, int sender's tick, int ack (the receiver's inputs the sender has),
+    // int first tick, byte count, count input bytes (InputFrame bits), int hash tick, long hash
+
+    private void send() {
+        int first = Math.max(peerAck + 1, localNext - MAX_INPUTS);
+        int count = localNext - first;
+        int hashTick = Math.min(confirmed, world.tick - 1);
+
+        ByteBuffer b = out;
+        b.clear();
+        b.putInt(MAGIC).putLong(world.seed).putInt(world.tick).putInt(confirmed);
+        b.putInt(first).put((byte) count);
+        for (int k = first; k < localNext; k++) b.put((byte) input[local][k & MASK]);
+        b.putInt(hashTick).putLong(hashTick >= 0 && world.tick - hashTick < WINDOW ? hash[hashTick & MASK] : 0L);
+        b.flip();
+        link.send(b);
+    }
+
+    private void receive() {
+        while (link.receive(in)) read(in);
+    }
+
+    private void read(ByteBuffer b) {
+        if (b.remaining() < HEADER + TRAILER || b.getInt() != MAGIC || b.getLong() != world.seed) {
+            foreignPackets++;
+            return;
+        }
+        int tick = b.getInt(), ack = b.getInt(), first = b.getInt(), count = b.get() & 0xFF;
+        if (b.remaining() != count + TRAILER) {
+            foreignPackets++;
+            return;
+        }
+        connected = true;
+        peerTick = Math.max(peerTick, tick);
+        peerAck = Math.max(peerAck, ack);
+
+        for (int i = 0; i < count; i++) {
+            int k = first + i, bits = b.get();
+            // already have it, or too far ahead to keep (it'll be resent)
+            if (k <= confirmed || k - confirmed >= WINDOW || inputTick[remote][k & MASK] == k) continue;
+            set(remote, k, bits);
+            if (k < world.tick && used[k & MASK] != bits) rollbackFrom = Math.min(rollbackFrom, k);
+        }
+        while (inputTick[remote][(confirmed + 1) & MASK] == confirmed + 1) confirmed++;
+
+        int hashTick = b.getInt();
+        long h = b.getLong();
+        if (hashTick > peerHashTick && hashTick > hashCheckedTo) {
+            peerHashTick = hashTick;
+            peerHash = h;
+        }
+    }
+
+    // compares the peer's newest final hash once this side has that tick final too
+    private void checkHash() {
+        int k = peerHashTick;
+        if (k < 0 || k > confirmed || k >= world.tick) return;
+        if (world.tick - k < WINDOW) {   // else it's from a packet that was stuck somewhere
+            hashesChecked++;
+            if (hash[k & MASK] != peerHash) {
+                desyncs++;
+                if (desyncTick < 0) desyncTick = k;
+            }
+        }
+        hashCheckedTo = k;
+        peerHashTick = -1;
+    }
+}
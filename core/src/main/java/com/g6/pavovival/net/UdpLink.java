@@ -0,0 +1,118 @@
+package com.g6.pavovival.net;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * Non-blocking UDP socket between two processes on this machine (a stand-in for LAN play):
+ * bound to localPort on the loopback address, sending to peerPort. Datagrams may be lost,
+ * duplicated or reordered; RollbackSession copes. Until the peer is up, sends bounce
+ * (ICMP port unreachable) and are simply dropped.
+ * <p>
+ * Loopback has next to no latency, so setLag() holds outgoing packets back for lagMillis
+ * (+ up to jitterMillis, which reorders them) to try the rollback path under LAN-like delays.
+ */
+public class UdpLink implements RollbackSession.Link {
+    private static final int MAX_PACKET = 512;
+    private static final int HELD = 256;   // packets in flight at most while lagging
+
+    private final DatagramChannel channel;
+
+    // lagged packets: due time (nanoTime) and bytes, in a ring
+    private int lagMillis = 0, jitterMillis = 0;
+    private RandomXS128 jitter;
+    private final long[] due = new long[HELD];
+    private final ByteBuffer[] held = new ByteBuffer[HELD];
+    private int heldCount = 0;
+
+    public int sent, received, dropped;
+
+    public UdpLink(int localPort, int peerPort) throws IOException {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        channel = DatagramChannel.open();
+        channel.bind(new InetSocketAddress(loopback, localPort));
+        channel.connect(new InetSocketAddress(loopback, peerPort));
+        channel.configureBlocking(false);
+    }
+
+    public void setLag(int lagMillis, int jitterMillis, long seed) {
+        this.lagMillis = lagMillis;
+        this.jitterMillis = jitterMillis;
+        this.jitter = new RandomXS128(seed);
+        for (int i = 0; i < HELD; i++) {
+            if (held[i] == null) held[i] = ByteBuffer.allocateDirect(MAX_PACKET);
+        }
+    }
+
+    @Override
+    public void send(ByteBuffer packet) {
+        if (lagMillis <= 0 && jitterMillis <= 0) {
+            write(packet);
+            return;
+        }
+        flush();
+        if (heldCount == HELD) { dropped++; return; }
+        ByteBuffer copy = held[heldCount];
+        copy.clear();
+        copy.put(packet).flip();
+        due[heldCount] = System.nanoTime()
+            + (lagMillis + (jitterMillis > 0 ? jitter.nextInt(jitterMillis + 1) : 0)) * 1_000_000L;
+        heldCount++;
+    }
+
+    @Override
+    public boolean receive(ByteBuffer packet) {
+        flush();
+        try {
+            packet.clear();
+            int n = channel.read(packet);
+            packet.flip();
+            if (n <= 0) return false;
+            received++;
+            return true;
+        } catch (PortUnreachableException e) {
+            return false;   // an earlier send found nobody listening yet
+        } catch (IOException e) {
+            throw new IllegalStateException("UDP receive failed", e);
+        }
+    }
+
+    // sends every held packet that is due (with jitter a later one can overtake an earlier one)
+    private void flush() {
+        long now = System.nanoTime();
+        for (int i = 0; i < heldCount; ) {
+            if (due[i] - now > 0) { i++; continue; }
+            write(held[i]);
+            // swap the last one in; its slot's buffer goes to the end for reuse
+            heldCount--;
+            ByteBuffer b = held[i];
+            held[i] = held[heldCount];
+            due[i] = due[heldCount];
+            held[heldCount] = b;
+        }
+    }
+
+    private void write(ByteBuffer packet) {
+        try {
+            channel.write(packet);
+            sent++;
+        } catch (PortUnreachableException e) {
+            dropped++;
+        } catch (IOException e) {
+            throw new IllegalStateException("UDP send failed", e);
+        }
+    }
+
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
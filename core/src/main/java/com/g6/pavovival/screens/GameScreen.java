@@ -1,26 +1,40 @@
 package com.g6.pavovival.screens;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
-import com.badlogic.gdx.audio.Sound;
 
 import com.g6.pavovival.Main;
 import com.g6.pavovival.actions.*;
+import com.g6.pavovival.entities.BulletSystem;
+import com.g6.pavovival.entities.Enemy;
+import com.g6.pavovival.entities.EntityPools;
+import com.g6.pavovival.effects.Banner;
+import com.g6.pavovival.effects.DrawList;
 import com.g6.pavovival.effects.Hud;
-import com.g6.pavovival.entities.*;
-
-import javax.print.AttributeException;
+import com.g6.pavovival.effects.Particles;
+import com.g6.pavovival.effects.ProfilerOverlay;
+import com.g6.pavovival.net.RollbackSession;
+import com.g6.pavovival.net.UdpLink;
+import com.g6.pavovival.world.FrameProfiler;
+import com.g6.pavovival.world.FixedTimestep;
+import com.g6.pavovival.world.GameEvents;
+import com.g6.pavovival.world.SaveState;
+import com.g6.pavovival.world.SimulationThread;
+import com.g6.pavovival.world.World;
+import com.g6.pavovival.world.WorldSnapshot;
+
+import java.io.IOException;
 
 public class GameScreen implements Screen {
 
@@ -29,196 +43,174 @@ public class GameScreen implements Screen {
 
     private final Main game;
 
-    private static final float WORLD_W = 960f;
-    private static final float WORLD_H = 540f;
+    private static final float WORLD_W = World.WIDTH;
+    private static final float WORLD_H = World.HEIGHT;
 
     private OrthographicCamera camera;
     private Viewport viewport;
-    private final GlyphLayout layout = new GlyphLayout();
+    // retro banners, glow baked once into a texture
+    private final Banner gameOverBanner, winBanner, pausedBanner;
 
     // fx
     private float t = 0f;
     private float bgX = 0f;
     private float bgSpeed = 0.5f;       // parallax speed
-    private float shakeTime = 0f;      // camera shake timer
     private float shakeStrength = 3f;
 
-    // game objects
-    private Pavo pavo;
-    private Array<Enemy> enemies = new Array<>();
-    private Array<Bullet> playerBullets = new Array<>();
-    private Array<Bullet> enemyBullets  = new Array<>();
-
-    private LevelController levels = new LevelController();
-    private Spawn spawner;
-    private CollisionController collisions = new CollisionController();
-    private InputController input = new InputController();
+    // simulation: fixed ticks, independent of the monitor refresh rate
+    public static final float TICK_RATE = 60f;    // ticks per second
+    public static final int MAX_CATCH_UP = 5;     // ticks per frame before the game slows down instead
+    private final FixedTimestep clock;
+    private final World world;
+    private final InputController input = new InputController();
+    private final InputFrame inputFrame = new InputFrame();
     private Hud hud;
-    private Boss boss = null;
-
-    public enum State { PLAYING, PAUSED, WIN, GAME_OVER }
-    private State state = State.PLAYING;
-
-    public GameScreen(Main game) {
-        this.game = game;
-        this.pavo = new Pavo(game.assets.pavoTexture, 40, 0);
-        this.spawner = new Spawn(game.assets, levels);
-        this.hud = new Hud(game.assets);
 
-        camera = new OrthographicCamera();
-        viewport = new FitViewport(WORLD_W, WORLD_H, camera);
-        camera.position.set(WORLD_W * 0.5f, WORLD_H * 0.5f, 0f);
-        camera.update();
-    }
-
-    private void drawRetroGlow(String text, Color glow, float radius) {
-        BitmapFont f = game.assets.retroFont;
-        layout.setText(f, text);
-        float cx = (WORLD_W - layout.width) / 2f;
-        float cy = (WORLD_H + layout.height) / 2f;
-
-        f.setColor(glow.r, glow.g, glow.b, 0.35f);
-        for (int dx = -1; dx <= 1; dx++) {
-            for (int dy = -1; dy <= 1; dy++) {
-                if (dx == 0 && dy == 0) continue;
-                f.draw(game.batch, text, cx + dx * radius, cy + dy * radius);
-            }
+    // with game.simThread the World steps on its own thread and we only draw its snapshots;
+    // otherwise it steps here, is drawn directly, and only its state and events go into `local`
+    private final SimulationThread sim;
+    private final WorldSnapshot local = new WorldSnapshot();
+    private final SimulationThread.Ticker ticker = new SimulationThread.Ticker() {
+        @Override
+        public boolean tick(InputFrame in) {
+            return stepWorld(in);
         }
-    }
-
-    // left" and right" words with different colors, centered together
-    private void drawCenteredRetroTwoTone(String left, Color leftColor,
-                                          String right, Color rightColor,
-                                          float baseScale, float wobbleY) {
-        BitmapFont f = game.assets.retroFont;
-
-        // total width
-        layout.setText(f, left + right);
-        float cx = (WORLD_W - layout.width) / 2f;
-        float cy = (WORLD_H + layout.height) / 2f + wobbleY;
-
-        f.getData().setScale(baseScale);
-
-        // left part
-        f.setColor(leftColor);
-        f.draw(game.batch, left, cx, cy);
-
-        // right part immediately after left
-        GlyphLayout leftW = new GlyphLayout(f, left);
-        float x2 = cx + leftW.width;
-        f.setColor(rightColor);
-        f.draw(game.batch, right, x2, cy);
-    }
-
-    @Override
-    public void render(float delta) {
-        t += delta;
-        float dt = Math.min(delta, 1/30f);
-
-        // inputs: pause, movement, jump
-        input.handle(pavo);
-        if (input.paused && state == State.PLAYING) state = State.PAUSED;
-        else if (!input.paused && state == State.PAUSED) state = State.PLAYING;
-
-        if (state == State.PLAYING) {
-            // Player
-            pavo.update(dt);
-
-            // spawn minions
-            spawner.update(dt, enemies, pavo);
+    };
 
-            // advance level if cleared
-            levels.advanceLevelIfCleared();
-            int currentLevel = (levels.level < 1 ? 1 : levels.level);
+    // what onSnapshot has already reacted to
+    private int seenPlayingTicks = 0, seenTick = 0;
+    private long eventsSeen = 0;
 
-            if (!bossMusicOn && currentLevel != lastLevelMusic) {
-                game.assets.playLevelMusic(currentLevel);
-                lastLevelMusic = currentLevel;
-            }
-
-            // spawn boss after level 3 cleared
-            if (levels.shouldSpawnBoss() && boss == null) {
-                boss = new Boss(game.assets.bossyTexture, 820, 0);
-                levels.bossSpawned = true;
-                enemies.add(boss);
+    // sprites go through a sorted, culled draw list
+    private final DrawList drawList = new DrawList(WORLD_W, WORLD_H);
+    /** SpriteBatch flushes (draw calls) in the last rendered frame. */
+    public int renderCalls = 0;
 
-                bossMusicOn = true;
+    // hit sparks / death bursts / muzzle flashes, spawned from the snapshot's events
+    private final Particles particles = new Particles();
 
-                if (game.assets.sfxBossRoar != null) game.assets.sfxBossRoar.play(0.9f);
+    // frame timings per phase; F3 shows them, the CSV is written when the screen goes away
+    public final FrameProfiler profiler = new FrameProfiler();
+    private final ProfilerOverlay profilerOverlay;
 
-                game.assets.playBossMusic();
-            }
-
-            // Enemies update
-            for (Enemy e : enemies)
-                if (e.alive) {
-                    if (e instanceof Boss) {
-                        Boss b = (Boss) e;
-                        b.pursue(pavo);
-                        b.maybeShoot(enemyBullets, game.assets.bossBulletTexture, pavo);
-                    }
-                    e.update(dt);
-                }
+    // every run is recorded (written next to the profile); with game.replayPath set, it's played back instead
+    private final Replay recording;
+    private final Replay playback;
+    private boolean playbackEnded = false;
+    private boolean desyncLogged = false;
 
-            // Pavo shoot (F)
-            if (Gdx.input.isKeyJustPressed(Input.Keys.F) && pavo.canShoot()) {
-                Bullet b = Bullet.playerBullet(
-                    game.assets.bulletTexture,
-                    pavo.x + (pavo.facing == 1 ? pavo.w : -8),
-                    pavo.y + pavo.h * 0.6f,
-                    pavo.facing
-                );
-                playerBullets.add(b);
-                pavo.didShoot();
-
-                if (game.assets.sfxShoot != null)
-                    game.assets.sfxShoot.play(0.8f);
-            }
+    // F5 / F9: one in-memory quick save slot (not while watching a replay or in co-op)
+    private final SaveState quickSave = new SaveState();
 
-            // Bullets
-            for (int i = 0; i < playerBullets.size; i++) playerBullets.get(i).update(dt);
-            for (int i = 0; i < enemyBullets.size; i++) enemyBullets.get(i).update(dt);
+    // co-op (game.coopPlayer > 0): the World steps through a RollbackSession with the other
+    // process, on this thread (rollback restores and re-steps it)
+    private final UdpLink link;
+    private final RollbackSession session;
+    private long finalEventsSeen = 0;
 
-            // Collisions
-            collisions.playerBulletsVsEnemies(playerBullets, enemies, levels, game.assets.sfxHit);
-            collisions.enemyBulletsVsPavo(enemyBullets, pavo);
+    public GameScreen(Main game) {
+        this(game, TICK_RATE, MAX_CATCH_UP);
+    }
 
-// Touch damage (existing)
-            if (collisions.enemiesVsPavo(enemies, pavo)) {
-                pavo.hp -= 1;
-                pavo.x = Math.max(0, pavo.x - 50);
-                shakeTime = 0.20f; // trigger screenshake
+    public GameScreen(Main game, float tickRate, int maxCatchUp) {
+        this.game = game;
+        this.playback = loadReplay(game.replayPath);
+        if (playback != null) {
+            this.clock = new FixedTimestep(playback.tickRate, maxCatchUp);
+            this.world = new World(game.assets, new EntityPools(), playback.seed);
+            this.recording = null;
+        } else if (game.coopPlayer > 0) {
+            this.clock = new FixedTimestep(tickRate, maxCatchUp);
+            this.world = new World(game.assets, new EntityPools(), game.coopSeed, 2);
+            this.recording = null;   // a Replay holds one player's input
+        } else {
+            this.clock = new FixedTimestep(tickRate, maxCatchUp);
+            this.world = new World(game.assets);
+            this.recording = new Replay(world.seed, tickRate);
+        }
+        this.hud = new Hud(game.assets);
+        if (playback == null && game.coopPlayer > 0) {
+            int local = game.coopPlayer - 1;
+            try {
+                this.link = new UdpLink(game.coopBasePort + local, game.coopBasePort + 1 - local);
+            } catch (IOException e) {
+                throw new GdxRuntimeException("Can't open UDP port " + (game.coopBasePort + local), e);
             }
+            this.session = new RollbackSession(world, local, game.coopDelay, clock.step, link);
+            Gdx.app.log("Coop", "Player " + game.coopPlayer + " on port " + (game.coopBasePort + local)
+                + ", waiting for player " + (2 - local) + " on " + (game.coopBasePort + 1 - local));
+        } else {
+            this.link = null;
+            this.session = null;
+        }
+        if (game.simThread && session == null) {
+            // FrameProfiler is single-threaded: the overlay only shows the GL thread's phases then
+            this.sim = new SimulationThread(world, 1f / clock.step, maxCatchUp, ticker);
+        } else {
+            this.sim = null;
+            this.world.profiler = profiler;
+        }
+        this.profilerOverlay = new ProfilerOverlay(profiler, game.assets.font);
 
-// === ADDED: single place to decide death from ANY source (bullets or touch) ===
-            if (pavo.hp <= 0) {
-                triggerGameOver();  // handles music + state + clamp
-            }
+        BitmapFont retro = game.assets.retroFont;
+        gameOverBanner = new Banner(game.batch, retro, WORLD_W, WORLD_H,
+            "GAME ", Color.ORANGE, "OVER", Color.YELLOW, new Color(1f, 0.5f, 0f, 1f), 2.5f, 3.0f);
+        winBanner = new Banner(game.batch, retro, WORLD_W, WORLD_H,
+            "YOU ", Color.LIME, "WIN!", Color.GREEN, new Color(0.2f, 1f, 0.4f, 1f), 2.5f, 3.0f);
+        pausedBanner = new Banner(game.batch, retro, WORLD_W, WORLD_H,
+            "PAUS", Color.CYAN, "ED", Color.WHITE, new Color(0.2f, 0.9f, 1f, 1f), 2.0f, 2.5f);
 
-            // cleanup dead
-            for (int i = playerBullets.size - 1; i >= 0; i--)
-                if (!playerBullets.get(i).alive) playerBullets.removeIndex(i);
-            for (int i = enemyBullets.size - 1; i >= 0; i--)
-                if (!enemyBullets.get(i).alive) enemyBullets.removeIndex(i);
-            for (int i = enemies.size - 1; i >= 0; i--) if (!enemies.get(i).alive) enemies.removeIndex(i);
+        camera = new OrthographicCamera();
+        viewport = new FitViewport(WORLD_W, WORLD_H, camera);
+        camera.position.set(WORLD_W * 0.5f, WORLD_H * 0.5f, 0f);
+        camera.update();
+    }
 
-            // parallax
-            bgX -= bgSpeed * dt;
-            if (bgX <= -WORLD_W) bgX += WORLD_W;
+    @Override
+    public void render(float delta) {
+        t += delta;
 
-            // decay screenshake
-            if (shakeTime > 0f) shakeTime -= dt;
+        profiler.beginFrame();
 
-            // WIN check
-            if (boss != null && !boss.alive && state != State.WIN) {
-                state = State.WIN;
-                bossMusicOn = false;
-                game.assets.playWinMusic();
+        if (playback == null) input.poll(inputFrame);
+        if (input.profilerToggled()) profilerOverlay.visible = !profilerOverlay.visible;
+        if (playback == null && session == null) {
+            if (input.quickSaveRequested()) quickSave();
+            else if (input.quickLoadRequested()) quickLoad();
+        }
+        profiler.lap(FrameProfiler.INPUT);
+
+        WorldSnapshot snap;
+        float alpha;
+        if (sim != null) {
+            // the simulation thread ticks on its own clock; draw the newest tick it has finished
+            sim.offer(inputFrame);
+            inputFrame.consumeEdges();
+            snap = sim.latest();
+            alpha = 1f - (snap.time - TimeUtils.nanoTime()) / (clock.step * 1e9f);
+            alpha = MathUtils.clamp(alpha, 0f, 1f);
+        } else {
+            // simulate: 0..MAX_CATCH_UP fixed ticks for this frame
+            int steps = clock.advance(delta);
+            for (int i = 0; i < steps; i++) {
+                if (!stepWorld(inputFrame)) break;
+                inputFrame.consumeEdges();
             }
+            local.captureState(world, TimeUtils.nanoTime(), eventsSeen);
+            eventsSeen = local.eventsEnd;
+            snap = local;
+            alpha = clock.alpha();
         }
+        int ticks = snap.tick - seenTick;
+        onSnapshot(snap);
+        game.assets.sfx.drain(delta);
+        profiler.lap(FrameProfiler.AUDIO);
+
+        // how far we are into the next tick (frozen while not playing)
+        if (snap.state != World.State.PLAYING) alpha = 1f;
 
         // apply screenshake to camera
-        if (shakeTime > 0f) {
+        if (snap.shakeTime > 0f) {
             camera.position.set(
                 WORLD_W * 0.5f + MathUtils.random(-shakeStrength, shakeStrength),
                 WORLD_H * 0.5f + MathUtils.random(-shakeStrength, shakeStrength),
@@ -235,38 +227,194 @@ public class GameScreen implements Screen {
 
         game.batch.begin();
 
-        drawBackground();
-        pavo.render(game.batch);
-        for (Enemy e : enemies) e.render(game.batch);
-        for (int i = 0; i < playerBullets.size; i++) playerBullets.get(i).render(game.batch);
-        for (int i = 0; i < enemyBullets.size;  i++) enemyBullets.get(i).render(game.batch);
+        drawBackground(snap.level);
+        if (sim == null) {
+            queueWorld(alpha);
+        } else {
+            snap.queue(drawList, game.assets.bulletRegion, game.assets.bossBulletRegion, alpha, clock.step);
+        }
+        drawList.flush(game.batch);
+        profiler.lap(FrameProfiler.RENDER);
+
+        particles.update(delta);
+        particles.draw(game.batch, game.assets.particleRegion);
+        profiler.lap(FrameProfiler.PARTICLES);
 
-        int bossHP = boss != null && boss.alive ? boss.hp : -1;
-        hud.draw(game.batch, levels.level, levels.totalKills, pavo.hp, bossHP);
+        hud.draw(game.batch, snap.level, snap.totalKills, snap.pavoHp, snap.partnerHp, snap.bossHp);
+        profilerOverlay.draw(game.batch, 16f, WORLD_H * 0.5f);
 
         // Retro banners
-        if (state == State.GAME_OVER) {
+        if (snap.state == World.State.GAME_OVER) {
             float wobbleY = 4f * (float)Math.sin(t * 6.0);
-            drawRetroGlow("GAME OVER", new Color(1f, 0.5f, 0f, 1f), 2.5f);
-            drawCenteredRetroTwoTone("GAME ", Color.ORANGE, "OVER", Color.YELLOW, 3.0f, wobbleY);
-        } else if (state == State.WIN) {
+            gameOverBanner.draw(game.batch, wobbleY);
+        } else if (snap.state == World.State.WIN) {
             float wobbleY = 4f * (float)Math.sin(t * 6.0);
-            drawRetroGlow("YOU WIN!", new Color(0.2f, 1f, 0.4f, 1f), 2.5f);
-            drawCenteredRetroTwoTone("YOU ", Color.LIME, "WIN!", Color.GREEN, 3.0f, wobbleY);
-        } else if (state == State.PAUSED) {
+            winBanner.draw(game.batch, wobbleY);
+        } else if (snap.state == World.State.PAUSED) {
             float wobbleY = 4f * (float)Math.sin(t * 6.0);
-            drawRetroGlow("PAUSED", new Color(0.2f, 0.9f, 1f, 1f), 2.0f);
-            drawCenteredRetroTwoTone("PAUS", Color.CYAN, "ED", Color.WHITE, 2.5f, wobbleY);
+            pausedBanner.draw(game.batch, wobbleY);
         }
 
 
         game.batch.end();
+        renderCalls = game.batch.renderCalls;
+
+        profiler.lap(FrameProfiler.RENDER);
+        profiler.count(FrameProfiler.RENDER_CALLS, renderCalls);
+        profiler.count(FrameProfiler.ENEMY_COUNT, sim == null ? world.enemies.size : snap.enemies());
+        profiler.count(FrameProfiler.BULLET_COUNT, sim == null ? world.bullets.size : snap.bullets);
+        profiler.count(FrameProfiler.TICKS, ticks);
+        profiler.count(FrameProfiler.PARTICLE_COUNT, particles.live);
+        profiler.endFrame();
+    }
+
+    /** Queues the live World's sprites and bullets (single thread: nothing else touches it). */
+    private void queueWorld(float alpha) {
+        world.pavo.queue(drawList, DrawList.LAYER_PLAYER, alpha);
+        if (world.partner != null) world.partner.queue(drawList, DrawList.LAYER_PLAYER, alpha);
+        for (int i = 0; i < world.enemies.size; i++)
+            world.enemies.get(i).queue(drawList, DrawList.LAYER_ENEMIES, alpha);
+        world.bullets.queue(drawList, DrawList.LAYER_BULLETS,
+            game.assets.bulletRegion, game.assets.bossBulletRegion, (1f - alpha) * clock.step);
+    }
+
+    /**
+     * One World step with recording / playback; false once a replay has run out, or while co-op
+     * waits for the other player. Simulation thread in sim mode.
+     */
+    private boolean stepWorld(InputFrame in) {
+        if (session != null) {
+            boolean stepped = session.advance(in);
+            if (session.desyncs > 0 && !desyncLogged) {
+                desyncLogged = true;
+                Gdx.app.log("Coop", "DESYNC from tick " + session.desyncTick + " — the two games have diverged");
+            }
+            return stepped;
+        }
+        if (playback != null && !playback.play(world.tick, in)) {
+            endPlayback();
+            return false;
+        }
+        if (recording != null) recording.record(in);
+        world.step(clock.step, in);
+        return true;
+    }
+
+    /** Copies the World into the quick save slot (with the simulation thread held while it does). */
+    private void quickSave() {
+        if (sim != null) sim.stop();
+        quickSave.save(world);
+        if (sim != null) sim.start();
+        Gdx.app.log("SaveState", "Saved tick " + world.tick + " (" + quickSave.size() + " bytes)");
+    }
+
+    /**
+     * Puts the World back to the quick save. The recording drops the ticks after it, so it still
+     * replays to the state we end up in.
+     */
+    private void quickLoad() {
+        if (quickSave.isEmpty()) return;
+        if (sim != null) sim.stop();
+        quickSave.restore(world);
+        if (recording != null) recording.truncate(world.tick);
+        if (sim != null) sim.start();
+
+        particles.clear();
+        seenTick = world.tick;
+        seenPlayingTicks = world.playingTicks;
+        bossMusicOn = world.levels.bossSpawned && world.state == World.State.PLAYING;
+        game.assets.enterPhase(AssetResidency.phaseOf(world.levels.level, bossMusicOn));
+        if (bossMusicOn) {
+            game.assets.playBossMusic();
+        } else {
+            game.assets.playLevelMusic(world.levels.level);
+            lastLevelMusic = world.levels.level;
+        }
+        Gdx.app.log("SaveState", "Loaded tick " + world.tick);
+    }
+
+    /**
+     * Sound, music and parallax reactions to the GameEvents since the last snapshot we saw
+     * (any number of ticks), in the order they happened.
+     */
+    private void onSnapshot(WorldSnapshot s) {
+        int shots = 0, hits = 0;
+        for (int i = 0; i < s.events; i++) {
+            switch (s.eventType[i]) {
+                case GameEvents.SHOT:
+                    if (s.eventA[i] == BulletSystem.PLAYER) shots++;
+                    particles.muzzleFlash(s.eventX[i], s.eventY[i] + BulletSystem.HEIGHT * 0.5f);
+                    break;
+                case GameEvents.HIT:
+                    hits++;
+                    particles.hitSparks(s.eventX[i], s.eventY[i] + BulletSystem.HEIGHT * 0.5f);
+                    break;
+                case GameEvents.KILL:
+                    particles.deathBurst(s.eventX[i], s.eventY[i], s.eventA[i] == Enemy.BIRD ? Color.SKY
+                        : s.eventA[i] == Enemy.BOSS ? Color.RED : Color.ORANGE);
+                    break;
+                case GameEvents.PLAYER_DAMAGED:
+                    particles.deathBurst(s.eventX[i], s.eventY[i], Color.SCARLET);
+                    break;
+                case GameEvents.LEVEL_ADVANCED:
+                case GameEvents.BOSS_SPAWNED:
+                case GameEvents.GAME_OVER:
+                case GameEvents.WIN:
+                    // in co-op these may come from a tick that gets rolled back; see below
+                    if (session == null) onPhaseEvent(s.eventType[i], s.eventA[i]);
+                    break;
+            }
+        }
+        if (session != null) {
+            GameEvents fe = session.finalEvents;
+            for (long e = Math.max(finalEventsSeen, fe.oldest()); e < fe.head(); e++) onPhaseEvent(fe.type(e), fe.a(e));
+            finalEventsSeen = fe.head();
+        }
+
+        // queued; the mixer plays them once per frame, merged
+        game.assets.sfx.trigger(AssetController.SFX_SHOOT, shots, 1f);
+        game.assets.sfx.trigger(AssetController.SFX_HIT, hits, 1f);
+
+        // parallax
+        bgX -= bgSpeed * clock.step * (s.playingTicks - seenPlayingTicks);
+        while (bgX <= -WORLD_W) bgX += WORLD_W;
+
+        seenTick = s.tick;
+        seenPlayingTicks = s.playingTicks;
     }
 
-    private void drawBackground() {
-        Texture bg = game.assets.lvOne;
-        if (levels.level == 2) bg = game.assets.lvTwo;
-        if (levels.level == 3) bg = game.assets.lvThree;
+    /** Music and asset residency for the events that move the game to another phase. */
+    private void onPhaseEvent(int type, int a) {
+        switch (type) {
+            case GameEvents.LEVEL_ADVANCED:
+                game.assets.enterPhase(AssetResidency.phaseOf(a, false));
+                if (!bossMusicOn && a != lastLevelMusic) {
+                    game.assets.playLevelMusic(a);
+                    lastLevelMusic = a;
+                }
+                break;
+            case GameEvents.BOSS_SPAWNED:
+                game.assets.enterPhase(AssetResidency.BOSS);
+                bossMusicOn = true;
+                game.assets.sfx.trigger(AssetController.SFX_ROAR);
+                game.assets.playBossMusic();
+                break;
+            case GameEvents.GAME_OVER:
+                game.assets.enterPhase(AssetResidency.END);
+                triggerGameOver();
+                break;
+            case GameEvents.WIN:
+                game.assets.enterPhase(AssetResidency.END);
+                bossMusicOn = false;
+                game.assets.playWinMusic();
+                break;
+        }
+    }
+
+    private void drawBackground(int level) {
+        // the level's background may still be streaming in; any resident one stands in until then
+        Texture bg = game.assets.background(level);
+        if (bg == null) return;
 
         game.batch.draw(bg, bgX, 0, WORLD_W, WORLD_H);
         game.batch.draw(bg, bgX + WORLD_W, 0, WORLD_W, WORLD_H);
@@ -274,8 +422,6 @@ public class GameScreen implements Screen {
 
     // === ADDED: central Game Over handler ===
     private void triggerGameOver() {
-        if (state == State.GAME_OVER) return;   // fire once
-        state = State.GAME_OVER;
         bossMusicOn = false;
 
         // stop any level/boss music and play Game Over
@@ -286,22 +432,85 @@ public class GameScreen implements Screen {
         try {
             game.assets.playGameOverMusic();
         } catch (Exception ignored) {}
-
-        // clamp HP (HUD won’t show negative)
-        if (pavo.hp < 0) pavo.hp = 0;
     }
 
     @Override public void show() {
         viewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), true);
-        int startLevel = (levels.level < 1 ? 1 : levels.level);
+        int startLevel = (world.levels.level < 1 ? 1 : world.levels.level);
+        game.assets.enterPhase(AssetResidency.phaseOf(startLevel, false));
         game.assets.playLevelMusic(startLevel);
         lastLevelMusic = startLevel;
         bossMusicOn = false;
+        if (sim != null) sim.start();
     }
 
     @Override public void resize(int width, int height) { viewport.update(width, height, true); }
-    @Override public void pause() {}
-    @Override public void resume() {}
-    @Override public void hide() {}
-    @Override public void dispose() {}
+    @Override public void pause() { if (sim != null) sim.setPaused(true); }
+    @Override public void resume() { if (sim != null) sim.setPaused(false); }
+    @Override public void hide() {
+        if (sim != null) sim.stop(); // the World is ours again
+        dumpProfile();
+        saveRecording();
+        if (session != null) {
+            Gdx.app.log("Coop", "rollbacks " + session.rollbacks + " (" + session.resimulated + " ticks re-simulated, deepest "
+                + session.maxDepth + ", slowest " + session.maxRollbackNanos / 1000 + " us), stalls " + session.stalls
+                + ", hashes checked " + session.hashesChecked + ", desyncs " + session.desyncs);
+            link.close();
+        }
+    }
+
+    private static FileHandle outputDir(String name) {
+        return Gdx.files.isExternalStorageAvailable()
+            ? Gdx.files.external(".pavovival/" + name)
+            : Gdx.files.local(name);
+    }
+
+    private static Replay loadReplay(String path) {
+        if (path == null) return null;
+        try {
+            Replay r = Replay.read(Gdx.files.absolute(path));
+            Gdx.app.log("Replay", "Playing " + path + " (" + r.ticks() + " ticks, seed " + r.seed + ")");
+            return r;
+        } catch (Exception e) {
+            Gdx.app.log("Replay", "Could not read " + path + " — playing normally. " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void endPlayback() {
+        if (playbackEnded) return;
+        playbackEnded = true;
+        boolean same = playback.checksum == 0L || playback.checksum == world.checksum();
+        Gdx.app.log("Replay", "Finished after " + world.tick + " ticks — " + (same ? "state matches" : "STATE DIFFERS from the recording"));
+    }
+
+    // run-<time>.pvr, so a session can be replayed (headless too) on another build
+    private void saveRecording() {
+        if (recording == null || recording.ticks() == 0) return;
+        recording.checksum = world.checksum();
+        FileHandle file = outputDir("replays").child("run-" + TimeUtils.millis() + ".pvr");
+        try {
+            recording.write(file);
+            Gdx.app.log("Replay", "Recorded " + recording.ticks() + " ticks to " + file.path());
+        } catch (Exception e) {
+            Gdx.app.log("Replay", "Could not write " + file.path() + ": " + e.getMessage());
+        }
+    }
+
+    // frames-<time>.csv next to the font cache, for comparing builds
+    private void dumpProfile() {
+        if (profiler.frames() == 0) return;
+        FileHandle csv = outputDir("profile").child("frames-" + TimeUtils.millis() + ".csv");
+        try {
+            profiler.writeCsv(csv);
+            Gdx.app.log("Profile", "Wrote " + profiler.frames() + " frames to " + csv.path());
+        } catch (Exception e) {
+            Gdx.app.log("Profile", "Could not write " + csv.path() + ": " + e.getMessage());
+        }
+    }
+    @Override public void dispose() {
+        gameOverBanner.dispose();
+        winBanner.dispose();
+        pausedBanner.dispose();
+    }
 }
@@ -0,0 +1,87 @@
+package com.g6.pavovival.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+import com.g6.pavovival.Main;
+import com.g6.pavovival.world.World;
+
+/**
+ * Shows a progress bar while the level 1 assets load, then switches to the game.
+ * The rest of the assets keep loading in the background (see Main.render).
+ */
+public class LoadingScreen implements Screen {
+
+    private static final float WORLD_W = World.WIDTH;
+    private static final float WORLD_H = World.HEIGHT;
+
+    // loader budget per frame; the screen is static so we can give it most of the frame
+    private static final int LOAD_MILLIS = 12;
+
+    private final Main game;
+    private final OrthographicCamera camera = new OrthographicCamera();
+    private final Viewport viewport = new FitViewport(WORLD_W, WORLD_H, camera);
+    private final BitmapFont font = new BitmapFont();   // built-in, no loading needed
+    private final Texture white;
+
+    public LoadingScreen(Main game) {
+        this.game = game;
+        Pixmap px = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        px.setColor(Color.WHITE);
+        px.fill();
+        white = new Texture(px);
+        px.dispose();
+        camera.position.set(WORLD_W * 0.5f, WORLD_H * 0.5f, 0f);
+    }
+
+    @Override
+    public void render(float delta) {
+        if (game.assets.updateLevelOne(LOAD_MILLIS)) {
+            game.assets.finishLevelOne();
+            game.assets.queueRest();
+            game.onInteractive();
+            game.setScreen(new GameScreen(game));
+            dispose();
+            return;
+        }
+
+        float progress = game.assets.progress();
+
+        Gdx.gl.glClearColor(0, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        camera.update();
+        game.batch.setProjectionMatrix(camera.combined);
+        game.batch.begin();
+
+        float barW = WORLD_W * 0.6f, barH = 18f;
+        float barX = (WORLD_W - barW) / 2f, barY = WORLD_H * 0.4f;
+        game.batch.setColor(0.25f, 0.25f, 0.25f, 1f);
+        game.batch.draw(white, barX, barY, barW, barH);
+        game.batch.setColor(Color.ORANGE);
+        game.batch.draw(white, barX, barY, barW * progress, barH);
+        game.batch.setColor(Color.WHITE);
+
+        font.draw(game.batch, "LOADING " + (int) (progress * 100) + "%", barX, barY + barH + 24f);
+        game.batch.end();
+    }
+
+    @Override public void show() { viewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), true); }
+    @Override public void resize(int width, int height) { viewport.update(width, height, true); }
+    @Override public void pause() {}
+    @Override public void resume() {}
+    @Override public void hide() {}
+
+    @Override
+    public void dispose() {
+        font.dispose();
+        white.dispose();
+    }
+}
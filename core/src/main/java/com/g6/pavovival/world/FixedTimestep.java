@@ -0,0 +1,43 @@
+package com.g6.pavovival.world;
+
+/**
+ * Turns variable frame times into a whole number of fixed simulation ticks.
+ * Leftover time carries over to the next frame; alpha() says how far the renderer
+ * is between the last two ticks (0 = previous tick, 1 = latest tick).
+ */
+public class FixedTimestep {
+
+    public final float step;       // seconds per tick
+    public final int maxTicks;     // most ticks run for one frame; beyond that the game slows down
+
+    private float accumulator = 0f;
+
+    /** Total ticks run so far. */
+    public long ticks = 0;
+    /** Frame time thrown away because a frame needed more than maxTicks. */
+    public float dropped = 0f;
+
+    public FixedTimestep(float ticksPerSecond, int maxTicks) {
+        this.step = 1f / ticksPerSecond;
+        this.maxTicks = Math.max(1, maxTicks);
+    }
+
+    /** Adds a frame's delta and returns how many ticks to run now. */
+    public int advance(float delta) {
+        accumulator += Math.max(0f, delta);
+        int n = (int) (accumulator / step);
+        if (n > maxTicks) {
+            // too far behind (hitch, breakpoint, window drag): skip the extra ticks, keep the fraction
+            dropped += (n - maxTicks) * step;
+            accumulator -= (n - maxTicks) * step;
+            n = maxTicks;
+        }
+        accumulator -= n * step;
+        ticks += n;
+        return n;
+    }
+
+    public float alpha() {
+        return Math.min(1f, accumulator / step);
+    }
+}
@@ -0,0 +1,111 @@
+package com.g6.pavovival.world;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Per-phase frame timings in a fixed ring of the last CAPACITY frames; nothing allocates
+ * after construction. Each lap(phase) books the time since the previous lap to that phase,
+ * so one frame costs one System.nanoTime() per phase. Phases that run once per tick add up
+ * over the frame's ticks.
+ */
+public class FrameProfiler {
+    public static final int INPUT = 0, PAVO = 1, SPAWN = 2, ENEMIES = 3, BULLETS = 4,
+        BROADPHASE = 5, PLAYER_HITS = 6, PAVO_HITS = 7, TOUCH = 8, CLEANUP = 9, AUDIO = 10, RENDER = 11,
+        PARTICLES = 12, FRAME = 13;
+    public static final int PHASES = 14;
+    public static final String[] NAMES = {
+        "input", "pavo", "spawn", "enemies", "bullets",
+        "broadphase", "playerHits", "pavoHits", "touch", "cleanup", "audio", "render",
+        "particles", "frame"
+    };
+
+    // counters stored alongside the timings
+    public static final int RENDER_CALLS = 0, ENEMY_COUNT = 1, BULLET_COUNT = 2, TICKS = 3, PARTICLE_COUNT = 4;
+    public static final int COUNTERS = 5;
+    public static final String[] COUNTER_NAMES = { "renderCalls", "enemies", "bullets", "ticks", "particles" };
+
+    public static final int CAPACITY = 3600; // one minute at 60 fps
+
+    private final long[][] nanos = new long[PHASES][CAPACITY];
+    private final int[][] counts = new int[COUNTERS][CAPACITY];
+    private final long[] current = new long[PHASES];
+    private final int[] currentCounts = new int[COUNTERS];
+    private final long[] sorted = new long[CAPACITY];
+
+    private long frameStart, last;
+    private int head = 0;     // next slot to write
+    private int frames = 0;   // filled slots, up to CAPACITY
+
+    public void beginFrame() {
+        Arrays.fill(current, 0L);
+        Arrays.fill(currentCounts, 0);
+        frameStart = last = System.nanoTime();
+    }
+
+    /** Books the time since the previous lap (or beginFrame) to phase. */
+    public void lap(int phase) {
+        long now = System.nanoTime();
+        current[phase] += now - last;
+        last = now;
+    }
+
+    public void count(int counter, int value) {
+        currentCounts[counter] = value;
+    }
+
+    public void endFrame() {
+        current[FRAME] = System.nanoTime() - frameStart;
+        for (int p = 0; p < PHASES; p++) nanos[p][head] = current[p];
+        for (int c = 0; c < COUNTERS; c++) counts[c][head] = currentCounts[c];
+        head = (head + 1) % CAPACITY;
+        if (frames < CAPACITY) frames++;
+    }
+
+    public int frames() {
+        return frames;
+    }
+
+    /** Percentiles (0..100) of phase over the recorded frames, in nanoseconds, into out. */
+    public void percentiles(int phase, float[] pcts, long[] out) {
+        if (frames == 0) { Arrays.fill(out, 0L); return; }
+        System.arraycopy(nanos[phase], 0, sorted, 0, frames);
+        Arrays.sort(sorted, 0, frames);
+        for (int k = 0; k < pcts.length; k++) {
+            int i = Math.min(frames - 1, (int)Math.ceil(pcts[k] / 100f * frames) - 1);
+            out[k] = sorted[Math.max(0, i)];
+        }
+    }
+
+    /** Counter value of the most recent frame. */
+    public int lastCount(int counter) {
+        return frames == 0 ? 0 : counts[counter][(head - 1 + CAPACITY) % CAPACITY];
+    }
+
+    /** Writes the recorded frames, oldest first: one row per frame, phase times in microseconds. */
+    public void writeCsv(FileHandle file) throws IOException {
+        Writer w = file.writer(false, "UTF-8");
+        try {
+            StringBuilder sb = new StringBuilder(256);
+            sb.append("frame");
+            for (String n : NAMES) sb.append(',').append(n).append("_us");
+            for (String n : COUNTER_NAMES) sb.append(',').append(n);
+            w.write(sb.append('\n').toString());
+
+            int start = frames < CAPACITY ? 0 : head;
+            for (int k = 0; k < frames; k++) {
+                int slot = (start + k) % CAPACITY;
+                sb.setLength(0);
+                sb.append(k);
+                for (int p = 0; p < PHASES; p++) sb.append(',').append(nanos[p][slot] / 1000f);
+                for (int c = 0; c < COUNTERS; c++) sb.append(',').append(counts[c][slot]);
+                w.write(sb.append('\n').toString());
+            }
+        } finally {
+            w.close();
+        }
+    }
+}
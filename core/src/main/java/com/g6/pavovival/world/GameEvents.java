@@ -0,0 +1,123 @@
+package com.g6.pavovival.world;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * What happened during the simulation, as a ring buffer of primitive records
+ * (type, one int, a position). Producers (World, CollisionController) only append; nothing
+ * reacts inside their loops. At the end of every tick World hands that tick's batch to the
+ * listeners (LevelController, anything added with addListener), and WorldSnapshot copies
+ * events out for the renderer (sounds, music, particles).
+ * <p>
+ * Events are addressed by a running sequence number. Older ones are overwritten once the
+ * buffer wraps; the current tick's are never lost (the buffer doubles instead).
+ */
+public class GameEvents {
+
+    // types; `a` / position meaning in brackets
+    public static final int SHOT           = 0;   // bullet fired [owner, muzzle]
+    public static final int HIT            = 1;   // player bullet hit an enemy [enemy kind, bullet]
+    public static final int KILL           = 2;   // enemy died to a bullet [enemy kind, enemy centre]
+    public static final int PLAYER_DAMAGED = 3;   // Pavo lost hp [damage, Pavo centre]
+    public static final int BOSS_SPAWNED   = 4;   // [0, boss position]
+    public static final int LEVEL_ADVANCED = 5;   // [new level, -]
+    public static final int GAME_OVER      = 6;
+    public static final int WIN            = 7;
+    public static final int TYPES          = 8;
+    public static final String[] NAMES = {
+        "shot", "hit", "kill", "playerDamaged", "bossSpawned", "levelAdvanced", "gameOver", "win" };
+
+    /** Gets each tick's events [from, to) once the tick is over; read them with type() / a() / x() / y(). */
+    public interface Listener {
+        void onEvents(GameEvents events, long from, long to);
+    }
+
+    private int mask;
+    private int[] type, a;
+    private float[] x, y;
+
+    private long head = 0;          // sequence of the next event
+    private long tickStart = 0;
+    private final Array<Listener> listeners = new Array<>();
+
+    public GameEvents() {
+        this(4096);
+    }
+
+    /** capacity is rounded up to a power of two. */
+    public GameEvents(int capacity) {
+        int cap = Integer.highestOneBit(Math.max(16, capacity - 1)) << 1;
+        mask = cap - 1;
+        type = new int[cap];
+        a = new int[cap];
+        x = new float[cap];
+        y = new float[cap];
+    }
+
+    public void addListener(Listener l) {
+        listeners.add(l);
+    }
+
+    public void removeListener(Listener l) {
+        listeners.removeValue(l, true);
+    }
+
+    public void add(int type, int a, float x, float y) {
+        if (head - tickStart == mask + 1) grow();
+        int i = (int) head & mask;
+        this.type[i] = type;
+        this.a[i] = a;
+        this.x[i] = x;
+        this.y[i] = y;
+        head++;
+    }
+
+    public void add(int type, int a) {
+        add(type, a, 0f, 0f);
+    }
+
+    /** Sequence the next event will get; events [oldest(), head()) can be read. */
+    public long head() {
+        return head;
+    }
+
+    public long oldest() {
+        return Math.max(0L, head - (mask + 1));
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public int type(long seq) { return type[(int) seq & mask]; }
+    public int a(long seq)    { return a[(int) seq & mask]; }
+    public float x(long seq)  { return x[(int) seq & mask]; }
+    public float y(long seq)  { return y[(int) seq & mask]; }
+
+    /** Marks where this tick's events start (World.step calls it first). */
+    public void beginTick() {
+        tickStart = head;
+    }
+
+    /** Hands this tick's batch to every listener, in the order they were added. */
+    public void endTick() {
+        for (int i = 0; i < listeners.size; i++) listeners.get(i).onEvents(this, tickStart, head);
+        tickStart = head;
+    }
+
+    // keeps the newest `capacity` events at their sequence numbers
+    private void grow() {
+        int cap = (mask + 1) * 2;
+        int[] nt = new int[cap], na = new int[cap];
+        float[] nx = new float[cap], ny = new float[cap];
+        for (long s = oldest(); s < head; s++) {
+            int from = (int) s & mask, to = (int) s & (cap - 1);
+            nt[to] = type[from];
+            na[to] = a[from];
+            nx[to] = x[from];
+            ny[to] = y[from];
+        }
+        type = nt; a = na; x = nx; y = ny;
+        mask = cap - 1;
+    }
+}
@@ -0,0 +1,159 @@
+package com.g6.pavovival.world;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.g6.pavovival.actions.CollisionController;
+import com.g6.pavovival.entities.Boss;
+import com.g6.pavovival.entities.BulletSystem;
+import com.g6.pavovival.entities.Enemy;
+import com.g6.pavovival.entities.Pavo;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The heavy loops of World.step split into index ranges on a fork-join pool:
+ * enemy updates, bullet integration and the player-bullet narrowphase.
+ * Results are identical to the serial step:
+ * <ul>
+ *   <li>boss pursue / shoot still runs on the calling thread in list order (it draws random
+ *       numbers and adds bullets), only the per-enemy update() is spread out;</li>
+ *   <li>workers only <i>find</i> bullet / enemy overlaps, into one buffer per range; the hits are
+ *       then applied on the calling thread range by range, i.e. in bullet order, so damage,
+ *       kills and the GameEvents they produce come out the same.</li>
+ * </ul>
+ * The range tasks are allocated once and reinitialized every phase, so a tick allocates nothing.
+ * One instance per World (the buffers are per-tick state).
+ */
+public class ParallelTick {
+
+    /** enemies + bullets from which World switches to the parallel path by default. */
+    public static final int DEFAULT_THRESHOLD = 3000;
+
+    private static final int ENEMIES = 0, BULLETS = 1, PLAYER_HITS = 2;
+
+    private final ForkJoinPool pool;
+    private final Range[] ranges;
+    private final Phase phase = new Phase();
+
+    // inputs of the phase being run (written before pool.invoke, which publishes them)
+    private int kind;
+    private float dt;
+    private Array<Enemy> enemies;
+    private BulletSystem bullets;
+    private CollisionController collisions;
+
+    public ParallelTick() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelTick(ForkJoinPool pool) {
+        this.pool = pool;
+        // a few ranges per thread so one slow range doesn't leave the others idle
+        ranges = new Range[Math.max(2, pool.getParallelism() * 4)];
+        for (int i = 0; i < ranges.length; i++) ranges[i] = new Range();
+    }
+
+    /** Worth using here: more than one core to spread over. */
+    public static boolean available() {
+        return Runtime.getRuntime().availableProcessors() > 1;
+    }
+
+    public int parallelism() {
+        return pool.getParallelism();
+    }
+
+    /** Same as the serial enemy loop in World.step. */
+    public void updateEnemies(Array<Enemy> enemies, BulletSystem bullets, Pavo pavo, GameEvents events, float dt) {
+        for (int i = 0; i < enemies.size; i++) {
+            Enemy e = enemies.get(i);
+            if (e.alive && e instanceof Boss) {
+                Boss b = (Boss) e;
+                b.pursue(pavo);
+                World.bossShot(b.maybeShoot(bullets, pavo), bullets, events);
+            }
+        }
+        this.enemies = enemies;
+        this.dt = dt;
+        run(ENEMIES, enemies.size);
+        this.enemies = null;
+    }
+
+    /** Same as BulletSystem.integrate. */
+    public void integrateBullets(BulletSystem bullets, float dt) {
+        this.bullets = bullets;
+        this.dt = dt;
+        run(BULLETS, bullets.size);
+        this.bullets = null;
+    }
+
+    /** Same as CollisionController.playerBulletsVsEnemies; call after updateBroadphase. */
+    public int playerBulletsVsEnemies(CollisionController collisions, BulletSystem bullets,
+                                      Array<Enemy> enemies, GameEvents events) {
+        this.collisions = collisions;
+        this.bullets = bullets;
+        this.enemies = enemies;
+        run(PLAYER_HITS, bullets.size);
+        this.collisions = null;
+
+        // deterministic merge: ranges are in bullet order, so this is the serial order
+        int hits = 0;
+        for (Range r : ranges) {
+            hits += collisions.applyPlayerHits(bullets, enemies, events, r.found);
+            r.found.clear();
+        }
+        this.bullets = null;
+        this.enemies = null;
+        return hits;
+    }
+
+    private void run(int kind, int n) {
+        if (n == 0) return;
+        this.kind = kind;
+        int count = ranges.length;
+        for (int i = 0; i < count; i++) {
+            Range r = ranges[i];
+            r.from = (int) ((long) n * i / count);
+            r.to = (int) ((long) n * (i + 1) / count);
+            r.reinitialize();
+        }
+        phase.reinitialize();
+        pool.invoke(phase);
+    }
+
+    /** Forks every range and waits for them. */
+    @SuppressWarnings("serial")
+    private final class Phase extends RecursiveAction {
+        @Override
+        protected void compute() {
+            invokeAll(ranges);
+        }
+    }
+
+    /** One slice [from, to) of the current phase, plus its own hit buffers. */
+    @SuppressWarnings("serial")
+    private final class Range extends RecursiveAction {
+        int from, to;
+        final IntArray found = new IntArray();
+        final IntArray candidates = new IntArray();
+
+        @Override
+        protected void compute() {
+            if (from == to) return;
+            switch (kind) {
+                case ENEMIES:
+                    for (int i = from; i < to; i++) {
+                        Enemy e = enemies.get(i);
+                        if (e.alive) e.update(dt);
+                    }
+                    break;
+                case BULLETS:
+                    bullets.integrate(from, to, dt);
+                    break;
+                case PLAYER_HITS:
+                    collisions.collectPlayerHits(bullets, enemies, from, to, candidates, found);
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.g6.pavovival.world;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The complete simulation state of a World in one reusable direct ByteBuffer, for quick
+ * save / load and per-tick rewind. Restoring a World and stepping it with the same input
+ * gives the same ticks as the original (World.checksum matches), private timers and random
+ * streams included. Saving allocates nothing unless the buffer has to grow.
+ * Little-endian:
+ *
+ * <pre>
+ * int   magic "PVSS"
+ * int   version
+ * int   length of the whole state in bytes
+ * long  World seed
+ * ...   World.writeState: counters, random streams, players, Pavo (+ partner), LevelController, Spawn,
+ *       enemies (byte kind + Entity.writeState each), boss, BulletSystem
+ * </pre>
+ */
+public class SaveState {
+    private static final int MAGIC = 0x50565353; // "PVSS"
+    public static final int VERSION = 2;   // 2: player count before Pavo (co-op partner)
+
+    private static final int HEADER = 20;
+    // upper bounds per record (a boss or bird writes 1 + 49 bytes, a bullet 18)
+    private static final int FIXED = 512, PER_ENEMY = 64, PER_BULLET = 18;
+
+    private ByteBuffer buffer;
+    /** World seed of the last save / read. */
+    public long seed;
+
+    public SaveState() {
+        this(16 * 1024);
+    }
+
+    public SaveState(int capacity) {
+        buffer = allocate(capacity);
+    }
+
+    /** Replaces the contents with the World's current state. */
+    public void save(World world) {
+        int need = HEADER + FIXED + PER_ENEMY * (world.enemies.size + 1) + PER_BULLET * world.bullets.size;
+        if (buffer.capacity() < need) buffer = allocate(Math.max(need, buffer.capacity() * 2));
+
+        ByteBuffer b = buffer;
+        b.clear();
+        b.putInt(MAGIC).putInt(VERSION).putInt(0).putLong(world.seed);
+        world.writeState(b);
+        b.putInt(8, b.position());
+        b.flip();
+        seed = world.seed;
+    }
+
+    /** Puts the World back into the saved state (the seed it was created with doesn't have to match). */
+    public void restore(World world) {
+        if (isEmpty()) throw new IllegalStateException("Nothing saved");
+        ByteBuffer b = buffer;
+        b.position(HEADER);
+        world.readState(b);
+        if (b.position() != b.limit()) throw new IllegalStateException("Save state is corrupt");
+        b.position(0);
+    }
+
+    public boolean isEmpty() {
+        return buffer.limit() == 0;
+    }
+
+    /** Bytes in the saved state. */
+    public int size() {
+        return buffer.limit() < HEADER ? 0 : buffer.getInt(8);
+    }
+
+    /** The saved bytes, [0, limit()); don't change them. */
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    public void write(FileHandle file) {
+        int n = size();
+        byte[] bytes = new byte[n];
+        for (int i = 0; i < n; i++) bytes[i] = buffer.get(i);
+        file.writeBytes(bytes, false);
+    }
+
+    /** Loads a file written by write() into this instance (checks magic, version and length). */
+    public void read(FileHandle file) throws IOException {
+        byte[] bytes = file.readBytes();
+        if (bytes.length < HEADER) throw new IOException(file.path() + " is not a save state");
+        ByteBuffer b = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (b.getInt() != MAGIC) throw new IOException(file.path() + " is not a save state");
+        int version = b.getInt();
+        if (version != VERSION) throw new IOException("Unsupported save state version " + version);
+        if (b.getInt() != bytes.length) throw new IOException("Save state is truncated");
+        seed = b.getLong();
+
+        if (buffer.capacity() < bytes.length) buffer = allocate(bytes.length);
+        buffer.clear();
+        buffer.put(bytes);
+        buffer.flip();
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        ByteBuffer b = ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        b.limit(0);
+        return b;
+    }
+}
@@ -0,0 +1,161 @@
+package com.g6.pavovival.world;
+
+import com.g6.pavovival.actions.InputFrame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs the World on its own thread at a fixed tick rate, so a slow tick doesn't hold up the
+ * GL thread's buffer swap and a slow frame doesn't hold up the game.
+ * <p>
+ * Handoff is lock-free both ways:
+ * <ul>
+ *   <li>snapshots: three WorldSnapshots. The simulation fills its back buffer and swaps it into
+ *       the middle slot; the GL thread swaps the middle slot with its front buffer when there's a
+ *       newer one. One AtomicInteger holds the middle index plus a "fresh" bit. A snapshot's
+ *       events start where the last snapshot the GL thread actually took ended, so replaced
+ *       snapshots don't lose any.</li>
+ *   <li>input: the GL thread stores the keys as InputFrame bits; held keys are overwritten,
+ *       one-shot presses are OR-ed in until a tick takes them.</li>
+ * </ul>
+ * Only the simulation thread touches the World between start() and stop().
+ */
+public class SimulationThread implements Runnable {
+
+    /** One World step with the given input; false ends the simulation (e.g. a replay ran out). */
+    public interface Ticker {
+        boolean tick(InputFrame in);
+    }
+
+    private static final int FRESH = 4;
+
+    private final World world;
+    private final Ticker ticker;
+    private final long stepNanos;
+    private final int maxCatchUp;
+
+    private final WorldSnapshot[] buffers = { new WorldSnapshot(), new WorldSnapshot(), new WorldSnapshot() };
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 2;            // simulation thread only
+    private int front = 0;           // GL thread only
+    private long lastEventsEnd = 0;  // events end of the last published snapshot
+    private long delivered = 0;      // ... of the last one the GL thread took
+
+    private final AtomicInteger input = new AtomicInteger();
+    private final InputFrame frame = new InputFrame();
+
+    private volatile boolean running = false;
+    private volatile boolean paused = false;
+    private Thread thread;
+
+    /** Ticks thrown away after falling more than maxCatchUp ticks behind. */
+    public volatile long droppedTicks = 0;
+
+    public SimulationThread(World world, float tickRate, int maxCatchUp, Ticker ticker) {
+        this.world = world;
+        this.ticker = ticker;
+        this.stepNanos = (long) (1e9 / tickRate);
+        this.maxCatchUp = Math.max(1, maxCatchUp);
+        long now = System.nanoTime();
+        for (WorldSnapshot s : buffers) s.capture(world, now, world.events.head());
+        lastEventsEnd = delivered = world.events.head();
+    }
+
+    public void start() {
+        if (thread != null) return;
+        running = true;
+        thread = new Thread(this, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Stops and waits for the thread; afterwards the World is safe to use from the caller again. */
+    public void stop() {
+        running = false;
+        if (thread == null) return;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    /** Holds the clock (app in background); resuming doesn't try to catch up. */
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** GL thread: hands over this frame's input. */
+    public void offer(InputFrame in) {
+        int bits = in.toBits();
+        int old;
+        do {
+            old = input.get();
+        } while (!input.compareAndSet(old, (old & InputFrame.EDGE_BITS) | bits));
+    }
+
+    /** GL thread: the newest published snapshot (the same one again if nothing new came). */
+    public WorldSnapshot latest() {
+        if ((middle.get() & FRESH) != 0) front = middle.getAndSet(front) & 3;
+        return buffers[front];
+    }
+
+    @Override
+    public void run() {
+        long next = System.nanoTime();
+        while (running) {
+            long now = System.nanoTime();
+            if (paused) {
+                next = now;
+                LockSupport.parkNanos(stepNanos);
+                continue;
+            }
+            if (now < next) {
+                LockSupport.parkNanos(next - now);
+                continue;
+            }
+            if (now - next > maxCatchUp * stepNanos) {
+                // far behind (hitch, breakpoint): slow the game down instead of bursting ticks
+                long skip = (now - next) / stepNanos - maxCatchUp;
+                droppedTicks += skip;
+                next += skip * stepNanos;
+            }
+
+            takeInput(frame);
+            boolean more = ticker.tick(frame);
+            next += stepNanos;
+            publish(next);
+            if (!more) running = false;
+        }
+    }
+
+    private void takeInput(InputFrame out) {
+        int bits;
+        do {
+            bits = input.get();
+        } while (!input.compareAndSet(bits, bits & ~InputFrame.EDGE_BITS));
+        out.fromBits(bits);
+    }
+
+    private void publish(long time) {
+        WorldSnapshot s = buffers[back];
+        int m = middle.get();
+        if ((m & FRESH) == 0) delivered = lastEventsEnd;   // the GL thread took the last one
+        s.capture(world, time, delivered);
+        while (!middle.compareAndSet(m, back | FRESH)) {
+            // it took it just now: don't hand those events over twice
+            m = middle.get();
+            delivered = lastEventsEnd;
+            s.copyEvents(world.events, delivered);
+        }
+        lastEventsEnd = s.eventsEnd;
+        back = m & 3;
+    }
+}
@@ -0,0 +1,391 @@
+package com.g6.pavovival.world;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.g6.pavovival.actions.*;
+import com.g6.pavovival.entities.*;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The whole game simulation, without any rendering / GL calls.
+ * GameScreen drives it once per frame; headless runs can drive it as fast as they like.
+ */
+public class World {
+
+    public static final float WIDTH  = 960f;
+    public static final float HEIGHT = 540f;
+
+    public enum State { PLAYING, PAUSED, WIN, GAME_OVER }
+    private static final State[] STATES = State.values();   // values() copies every call
+    public State state = State.PLAYING;
+
+    // game objects
+    public final Pavo pavo;
+    public final Pavo partner;          // second player in co-op, null alone
+    public final Array<Enemy> enemies = new Array<>();
+    public final BulletSystem bullets = new BulletSystem();
+    public Boss boss = null;
+
+    public final EntityPools pools;
+    public final LevelController levels = new LevelController();
+    public final Spawn spawner;
+    public final CollisionController collisions = new CollisionController();
+    public final InputController input = new InputController();
+
+    // fx the renderer reads
+    public float shakeTime = 0f;       // camera shake timer
+
+    // what happened (shots, hits, kills, damage, level / boss / end); LevelController listens,
+    // the renderer gets the events through WorldSnapshot
+    public final GameEvents events = new GameEvents();
+    public int playingTicks = 0;        // steps that started in PLAYING
+
+    // optional per-phase timing (GameScreen attaches one); null costs nothing
+    public FrameProfiler profiler = null;
+
+    // multi-core step, same results as the serial one: used once enemies + bullets reach
+    // parallelThreshold (< 0 = never). Created on first use on the common pool unless set.
+    public int parallelThreshold = ParallelTick.DEFAULT_THRESHOLD;
+    public ParallelTick parallel = null;
+    public boolean steppedInParallel = false;   // whether the last step took the parallel path
+
+    // boss balance, applied when it spawns (balancing runs change these)
+    public int bossHp = 5;
+    public float bossShootInterval = 1.1f;
+
+    // all gameplay randomness comes from here: one stream per system, derived from seed
+    public final long seed;
+    private final RandomXS128 bossRandom;
+    /** Steps taken so far (paused ones included); replays index their input by this. */
+    public int tick = 0;
+
+    private final AssetController assets;
+    private final InputFrame idle = new InputFrame();   // the partner's input when step() gets none
+
+    public World(AssetController assets) {
+        this(assets, new EntityPools(), TimeUtils.nanoTime());
+    }
+
+    public World(AssetController assets, EntityPools pools, long seed) {
+        this(assets, pools, seed, 1);
+    }
+
+    /** players = 2 adds the co-op partner, next to Pavo. */
+    public World(AssetController assets, EntityPools pools, long seed, int players) {
+        this.assets = assets;
+        this.pools = pools;
+        this.seed = seed;
+        this.pavo = new Pavo(assets.pavoRegion, 40, 0);
+        this.partner = players > 1 ? new Pavo(assets.pavoRegion, 200, 0) : null;
+        this.spawner = new Spawn(assets, levels, pools, stream(seed, 1));
+        this.bossRandom = stream(seed, 2);
+        events.addListener(levels);
+    }
+
+    private static RandomXS128 stream(long seed, long id) {
+        return new RandomXS128(seed, id * 0x9E3779B97F4A7C15L ^ 0x632BE59BD9B4E019L);
+    }
+
+    /** Advances the game by dt seconds using the given input. */
+    public void step(float dt, InputFrame in) {
+        step(dt, in, null);
+    }
+
+    /**
+     * Co-op step: in drives Pavo, in2 the partner (null = no keys). Either player can pause.
+     * A player at 0 hp is down and sits out; the game is over once both are.
+     */
+    public void step(float dt, InputFrame in, InputFrame in2) {
+        tick++;
+        if (state == State.PLAYING) playingTicks++;
+        events.beginTick();
+
+        // inputs: pause, movement, jump
+        input.apply(in, pavo);
+        if (partner != null) input.apply(in2 != null ? in2 : idle, partner);
+        if (input.paused && state == State.PLAYING) state = State.PAUSED;
+        else if (!input.paused && state == State.PAUSED) state = State.PLAYING;
+
+        if (state != State.PLAYING) {
+            events.endTick();
+            return;
+        }
+
+        // tick start positions, for render interpolation
+        pavo.savePrevious();
+        if (partner != null) partner.savePrevious();
+        for (int i = 0; i < enemies.size; i++) enemies.get(i).savePrevious();
+        if (profiler != null) profiler.lap(FrameProfiler.INPUT);
+
+        // Player
+        if (acts(pavo)) pavo.update(dt);
+        if (acts(partner)) partner.update(dt);
+        if (profiler != null) profiler.lap(FrameProfiler.PAVO);
+
+        // spawn minions
+        Pavo target = target();
+        spawner.update(dt, enemies, target);
+
+        // advance level if cleared
+        if (levels.advanceLevelIfCleared()) events.add(GameEvents.LEVEL_ADVANCED, levels.level);
+        if (profiler != null) profiler.lap(FrameProfiler.SPAWN);
+
+        // spawn boss after level 3 cleared
+        if (levels.shouldSpawnBoss() && boss == null) {
+            boss = new Boss(assets.bossyRegion, 820, 0, bossRandom);
+            boss.hp = bossHp;
+            boss.shootInterval = bossShootInterval;
+            levels.bossSpawned = true;
+            enemies.add(boss);
+            events.add(GameEvents.BOSS_SPAWNED, 0, boss.x, boss.y);
+        }
+
+        boolean parallelStep = useParallel();
+        steppedInParallel = parallelStep;
+
+        // Enemies update
+        if (parallelStep) {
+            parallel.updateEnemies(enemies, bullets, target, events, dt);
+        } else {
+            for (int i = 0; i < enemies.size; i++) {
+                Enemy e = enemies.get(i);
+                if (e.alive) {
+                    if (e instanceof Boss) {
+                        Boss b = (Boss) e;
+                        b.pursue(target);
+                        bossShot(b.maybeShoot(bullets, target), bullets, events);
+                    }
+                    e.update(dt);
+                }
+            }
+        }
+        if (profiler != null) profiler.lap(FrameProfiler.ENEMIES);
+
+        // Pavo shoot (F)
+        if (acts(pavo) && in.shoot && pavo.canShoot()) shoot(pavo);
+        if (acts(partner) && in2 != null && in2.shoot && partner.canShoot()) shoot(partner);
+
+        // Bullets
+        if (parallelStep) parallel.integrateBullets(bullets, dt);
+        else bullets.integrate(dt);
+        if (profiler != null) profiler.lap(FrameProfiler.BULLETS);
+
+        // Collisions
+        collisions.updateBroadphase(enemies, bullets);
+        if (profiler != null) profiler.lap(FrameProfiler.BROADPHASE);
+        if (parallelStep) parallel.playerBulletsVsEnemies(collisions, bullets, enemies, events);
+        else collisions.playerBulletsVsEnemies(bullets, enemies, events);
+        if (profiler != null) profiler.lap(FrameProfiler.PLAYER_HITS);
+        collisions.enemyBulletsVsPavo(bullets, pavo, events);
+        if (partner != null) collisions.enemyBulletsVsPavo(bullets, partner, events);
+        if (profiler != null) profiler.lap(FrameProfiler.PAVO_HITS);
+
+        // Touch damage
+        if (acts(pavo)) touch(pavo);
+        if (acts(partner)) touch(partner);
+        if (profiler != null) profiler.lap(FrameProfiler.TOUCH);
+
+        // single place to decide death from ANY source (bullets or touch)
+        if (partner == null) {
+            if (pavo.hp <= 0) {
+                state = State.GAME_OVER;
+                pavo.hp = 0; // HUD won't show negative
+                events.add(GameEvents.GAME_OVER, 0);
+            }
+        } else {
+            down(pavo);
+            down(partner);
+            if (!pavo.alive && !partner.alive) {
+                state = State.GAME_OVER;
+                events.add(GameEvents.GAME_OVER, 0);
+            }
+        }
+
+        // cleanup dead (enemies back into the pools)
+        bullets.compact();
+        for (int i = enemies.size - 1; i >= 0; i--)
+            if (!enemies.get(i).alive) pools.free(enemies.removeIndex(i));
+
+        // decay screenshake
+        if (shakeTime > 0f) shakeTime -= dt;
+
+        // WIN check
+        if (boss != null && !boss.alive && state != State.WIN) {
+            state = State.WIN;
+            events.add(GameEvents.WIN, 0);
+        }
+
+        // listeners (kill counts etc.) see the whole tick at once
+        events.endTick();
+        if (profiler != null) profiler.lap(FrameProfiler.CLEANUP);
+    }
+
+    private void shoot(Pavo p) {
+        float bx = p.x + (p.facing == 1 ? p.w : -8);
+        float by = p.y + p.h * 0.6f;
+        bullets.add(bx, by, p.facing, BulletSystem.PLAYER);
+        p.didShoot();
+        events.add(GameEvents.SHOT, BulletSystem.PLAYER, bx, by);
+    }
+
+    // an enemy touching p knocks it back and costs 1 hp
+    private void touch(Pavo p) {
+        if (!collisions.enemiesVsPavo(enemies, p)) return;
+        p.hp -= 1;
+        p.x = Math.max(0, p.x - 50);
+        p.syncBox();
+        events.add(GameEvents.PLAYER_DAMAGED, 1, p.x + p.w * 0.5f, p.y + p.h * 0.5f);
+        shakeTime = 0.20f; // trigger screenshake
+    }
+
+    // co-op: out of hp = down (not drawn, not hit, doesn't act)
+    private static void down(Pavo p) {
+        if (p.hp > 0) return;
+        p.hp = 0;
+        p.alive = false;
+    }
+
+    // alone, Pavo always acts (its death ends the game that tick); in co-op a downed player sits out
+    private boolean acts(Pavo p) {
+        return p != null && (p.alive || partner == null);
+    }
+
+    /** Who the enemies go after: Pavo, or the partner once Pavo is down. */
+    public Pavo target() {
+        return partner != null && !pavo.alive && partner.alive ? partner : pavo;
+    }
+
+    /** SHOT event for a boss bullet (slot from Boss.maybeShoot, -1 = didn't shoot). */
+    static void bossShot(int slot, BulletSystem bullets, GameEvents events) {
+        if (slot >= 0) events.add(GameEvents.SHOT, BulletSystem.ENEMY, bullets.x[slot], bullets.y[slot]);
+    }
+
+    private boolean useParallel() {
+        if (parallelThreshold < 0 || enemies.size + bullets.size < parallelThreshold) return false;
+        if (parallel == null) {
+            if (!ParallelTick.available()) return false;
+            parallel = new ParallelTick();
+        }
+        return true;
+    }
+
+    /**
+     * Appends everything step() reads or changes (see SaveState): counters, the random streams,
+     * Pavo (and the partner), the level / spawn state, every enemy with its kind, the boss and the bullets.
+     * Events, the profiler and the tuning fields (thresholds, boss / spawn balance) are not state.
+     */
+    void writeState(ByteBuffer b) {
+        b.putInt(tick).putInt(playingTicks).putInt(state.ordinal()).putFloat(shakeTime);
+        b.put(input.paused ? (byte) 1 : 0);
+        b.putLong(bossRandom.getState(0)).putLong(bossRandom.getState(1));
+        b.put((byte) (partner != null ? 2 : 1));
+        pavo.writeState(b);
+        if (partner != null) partner.writeState(b);
+        levels.writeState(b);
+        spawner.writeState(b);
+
+        // the boss: its index in enemies, or -1 with its state after the list (dead and removed), -2 = none
+        int bossIndex = boss == null ? -2 : enemies.indexOf(boss, true);
+        b.putInt(enemies.size).putInt(bossIndex);
+        for (int i = 0; i < enemies.size; i++) {
+            Enemy e = enemies.get(i);
+            b.put((byte) e.kind);
+            e.writeState(b);
+        }
+        if (bossIndex == -1) boss.writeState(b);
+        bullets.writeState(b);
+    }
+
+    /** Replaces the whole simulation state with what writeState wrote. Minions / birds come from the pools. */
+    void readState(ByteBuffer b) {
+        tick = b.getInt();
+        playingTicks = b.getInt();
+        state = STATES[b.getInt()];
+        shakeTime = b.getFloat();
+        input.paused = b.get() != 0;
+        long s0 = b.getLong();
+        bossRandom.setState(s0, b.getLong());
+        if (b.get() != (partner != null ? 2 : 1))
+            throw new IllegalStateException("Save state is for a different number of players");
+        pavo.readState(b);
+        if (partner != null) partner.readState(b);
+        levels.readState(b);
+        spawner.readState(b);
+
+        Boss oldBoss = boss;
+        boss = null;
+        for (int i = 0; i < enemies.size; i++) pools.free(enemies.get(i));
+        enemies.clear();
+        int count = b.getInt(), bossIndex = b.getInt();
+        for (int i = 0; i < count; i++) {
+            Enemy e;
+            switch (b.get()) {
+                case Enemy.MINION: e = pools.minion(assets.minionRegion, 0, 0); break;
+                case Enemy.BIRD:   e = pools.bird(assets.birdRegion, 0, 0); break;
+                default:
+                    // the World's own boss object is reused; any extra (stress runs) is a new one
+                    e = i == bossIndex && oldBoss != null ? oldBoss : new Boss(assets.bossyRegion, 0, 0, bossRandom);
+                    if (i == bossIndex) boss = (Boss) e;
+            }
+            e.readState(b);
+            enemies.add(e);
+        }
+        if (bossIndex == -1) {
+            boss = oldBoss != null ? oldBoss : new Boss(assets.bossyRegion, 0, 0, bossRandom);
+            boss.readState(b);
+        }
+        bullets.readState(b);
+    }
+
+    /** Hands every pooled entity back to the pools (e.g. before starting a new World on the same pools). */
+    public void release() {
+        for (int i = 0; i < enemies.size; i++) pools.free(enemies.get(i));
+        enemies.clear();
+        bullets.clear();
+    }
+
+    /** Hash of the gameplay state; equal after the same ticks means the runs didn't diverge. */
+    public long checksum() {
+        long h = 0xCBF29CE484222325L;
+        h = mix(h, tick);
+        h = mix(h, state.ordinal());
+        h = mix(h, Float.floatToIntBits(pavo.x));
+        h = mix(h, Float.floatToIntBits(pavo.y));
+        h = mix(h, Float.floatToIntBits(pavo.vy));
+        h = mix(h, pavo.hp);
+        if (partner != null) {
+            h = mix(h, Float.floatToIntBits(partner.x));
+            h = mix(h, Float.floatToIntBits(partner.y));
+            h = mix(h, Float.floatToIntBits(partner.vy));
+            h = mix(h, partner.hp);
+        }
+        h = mix(h, levels.level);
+        h = mix(h, levels.spawnedInWave);
+        h = mix(h, levels.killedInWave);
+        h = mix(h, levels.totalKills);
+        h = mix(h, enemies.size);
+        for (int i = 0; i < enemies.size; i++) {
+            Enemy e = enemies.get(i);
+            h = mix(h, Float.floatToIntBits(e.x));
+            h = mix(h, Float.floatToIntBits(e.y));
+            h = mix(h, e.hp);
+        }
+        h = mix(h, bullets.size);
+        for (int i = 0; i < bullets.size; i++) {
+            h = mix(h, Float.floatToIntBits(bullets.x[i]));
+            h = mix(h, Float.floatToIntBits(bullets.y[i]));
+            h = mix(h, bullets.alive[i] ? 1 : 0);
+        }
+        return h;
+    }
+
+    private static long mix(long h, int v) {
+        return (h ^ v) * 0x100000001B3L;
+    }
+
+    public int bossHP() {
+        return boss != null && boss.alive ? boss.hp : -1;
+    }
+}
@@ -0,0 +1,174 @@
+package com.g6.pavovival.world;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.g6.pavovival.effects.DrawList;
+import com.g6.pavovival.entities.BulletSystem;
+import com.g6.pavovival.entities.Enemy;
+import com.g6.pavovival.entities.Pavo;
+
+import java.util.Arrays;
+
+/**
+ * Copy of everything GameScreen draws or reacts to, taken after a tick. With the simulation on
+ * its own thread (SimulationThread) the GL thread only reads these, never the World itself.
+ * On a single thread GameScreen draws the World directly and only takes captureState().
+ * It also carries the GameEvents since the last snapshot the reader took (see capture), so
+ * sounds, music and particles don't miss the ticks a frame never saw.
+ * Refilled in place; arrays only grow, so capturing allocates nothing once warm.
+ */
+public class WorldSnapshot {
+
+    public int tick;
+    public World.State state = World.State.PLAYING;
+    /** System.nanoTime() the tick belongs to; the renderer interpolates from here. */
+    public long time;
+
+    public int level, totalKills, pavoHp, bossHp;
+    public int partnerHp = -1;          // -1 = no co-op partner
+    public float shakeTime;
+    public int playingTicks;
+
+    // GameEvents [eventsFrom, eventsEnd), copied; events lost to the ring wrapping are skipped
+    public long eventsFrom, eventsEnd;
+    public int events = 0;
+    public int[] eventType = new int[64], eventA = new int[64];
+    public float[] eventX = new float[64], eventY = new float[64];
+
+    // sprites: [0] is Pavo, [1] the partner in co-op, then the enemies in World order
+    // (dead ones too, queue() skips them)
+    public int sprites = 0, players = 1;
+    public TextureRegion[] region = new TextureRegion[64];
+    public float[] prevX = new float[64], prevY = new float[64];
+    public float[] x = new float[64], y = new float[64], w = new float[64], h = new float[64];
+    public boolean[] alive = new boolean[64];
+
+    // live bullets only
+    public int bullets = 0;
+    public float[] bulletX = new float[256], bulletY = new float[256], bulletVx = new float[256];
+    public byte[] bulletOwner = new byte[256];
+
+    /** Copies the World, plus its events from sequence eventsFrom on. */
+    public void capture(World world, long time, long eventsFrom) {
+        captureState(world, time, eventsFrom);
+
+        players = world.partner != null ? 2 : 1;
+        int n = players + world.enemies.size;
+        if (n > region.length) growSprites(n);
+        Pavo p = world.pavo;
+        copy(0, p.region(), p.prevX, p.prevY, p.x, p.y, p.w, p.h, p.alive);
+        if (players == 2) {
+            p = world.partner;
+            copy(1, p.region(), p.prevX, p.prevY, p.x, p.y, p.w, p.h, p.alive);
+        }
+        for (int i = 0; i < world.enemies.size; i++) {
+            Enemy e = world.enemies.get(i);
+            copy(i + players, e.region(), e.prevX, e.prevY, e.x, e.y, e.w, e.h, e.alive);
+        }
+        sprites = n;
+
+        BulletSystem b = world.bullets;
+        if (b.size > bulletX.length) growBullets(b.size);
+        int k = 0;
+        for (int i = 0; i < b.size; i++) {
+            if (!b.alive[i]) continue;
+            bulletX[k] = b.x[i];
+            bulletY[k] = b.y[i];
+            bulletVx[k] = b.vx[i];
+            bulletOwner[k] = b.owner[i];
+            k++;
+        }
+        bullets = k;
+    }
+
+    /**
+     * Copies the counters, state and events but no sprites or bullets (sprites and bullets stay
+     * as they were): for a reader that can draw the World itself.
+     */
+    public void captureState(World world, long time, long eventsFrom) {
+        this.tick = world.tick;
+        this.state = world.state;
+        this.time = time;
+        level = world.levels.level;
+        totalKills = world.levels.totalKills;
+        pavoHp = world.pavo.hp;
+        partnerHp = world.partner != null ? world.partner.hp : -1;
+        bossHp = world.bossHP();
+        shakeTime = world.shakeTime;
+        playingTicks = world.playingTicks;
+        copyEvents(world.events, eventsFrom);
+    }
+
+    /** Replaces just the events (SimulationThread, when the reader took a snapshot meanwhile). */
+    public void copyEvents(GameEvents ev, long from) {
+        long end = ev.head();
+        from = Math.max(from, ev.oldest());
+        int n = (int) Math.max(0L, end - from);
+        if (n > eventType.length) growEvents(n);
+        for (int k = 0; k < n; k++) {
+            long s = from + k;
+            eventType[k] = ev.type(s);
+            eventA[k] = ev.a(s);
+            eventX[k] = ev.x(s);
+            eventY[k] = ev.y(s);
+        }
+        events = n;
+        eventsFrom = from;
+        eventsEnd = end;
+    }
+
+    public int enemies() {
+        return sprites - players;
+    }
+
+    /**
+     * Queues the players, the enemies and the bullets, alpha of the way from the previous tick to this one
+     * (same as Entity.queue / BulletSystem.queue on the live World).
+     */
+    public void queue(DrawList list, TextureRegion playerBullet, TextureRegion enemyBullet, float alpha, float step) {
+        for (int i = 0; i < sprites; i++) {
+            if (!alive[i]) continue;
+            list.add(i < players ? DrawList.LAYER_PLAYER : DrawList.LAYER_ENEMIES, region[i],
+                prevX[i] + (x[i] - prevX[i]) * alpha, prevY[i] + (y[i] - prevY[i]) * alpha, w[i], h[i]);
+        }
+        float behind = (1f - alpha) * step;
+        for (int i = 0; i < bullets; i++) {
+            list.add(DrawList.LAYER_BULLETS, bulletOwner[i] == BulletSystem.PLAYER ? playerBullet : enemyBullet,
+                bulletX[i] - bulletVx[i] * behind, bulletY[i], BulletSystem.WIDTH, BulletSystem.HEIGHT);
+        }
+    }
+
+    private void copy(int i, TextureRegion r, float px, float py, float cx, float cy, float cw, float ch, boolean live) {
+        region[i] = r;
+        prevX[i] = px; prevY[i] = py;
+        x[i] = cx; y[i] = cy; w[i] = cw; h[i] = ch;
+        alive[i] = live;
+    }
+
+    private void growSprites(int min) {
+        int cap = Math.max(min, region.length * 2);
+        region = Arrays.copyOf(region, cap);
+        prevX = Arrays.copyOf(prevX, cap);
+        prevY = Arrays.copyOf(prevY, cap);
+        x = Arrays.copyOf(x, cap);
+        y = Arrays.copyOf(y, cap);
+        w = Arrays.copyOf(w, cap);
+        h = Arrays.copyOf(h, cap);
+        alive = Arrays.copyOf(alive, cap);
+    }
+
+    private void growEvents(int min) {
+        int cap = Math.max(min, eventType.length * 2);
+        eventType = Arrays.copyOf(eventType, cap);
+        eventA = Arrays.copyOf(eventA, cap);
+        eventX = Arrays.copyOf(eventX, cap);
+        eventY = Arrays.copyOf(eventY, cap);
+    }
+
+    private void growBullets(int min) {
+        int cap = Math.max(min, bulletX.length * 2);
+        bulletX = Arrays.copyOf(bulletX, cap);
+        bulletY = Arrays.copyOf(bulletY, cap);
+        bulletVx = Arrays.copyOf(bulletVx, cap);
+        bulletOwner = Arrays.copyOf(bulletOwner, cap);
+    }
+}
@@ -0,0 +1,282 @@
+package com.g6.pavovival.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.g6.pavovival.actions.AssetController;
+import com.g6.pavovival.actions.BotController;
+import com.g6.pavovival.actions.InputFrame;
+import com.g6.pavovival.entities.BulletSystem;
+import com.g6.pavovival.entities.EntityPools;
+import com.g6.pavovival.world.GameEvents;
+import com.g6.pavovival.world.World;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Monte-Carlo balancing: plays many independent games with BotController as the player, spread
+ * over all cores (one game per task, each with its own World, pools and seeds), and prints one
+ * JSON object: win rate, boss time-to-kill, damage taken, level reached, game length.
+ * A game whose wave can't be cleared any more (every enemy spawned, some flew off unkilled,
+ * none left) ends early as "stalled" rather than running into the timeout.
+ * Game i uses seed + i for both the World and the bot, so a summary only depends on the options,
+ * not on the thread count; "checksum" combines every game's final World.checksum to show it.
+ * The balance knobs (boss hp / fire rate, minion speed, wave sizes) are set on each World.
+ *
+ * Usage: BalanceRunner [--games n] [--threads n] [--seed n] [--max-seconds s] [--skill 0..1]
+ *                      [--boss-hp n] [--boss-shoot-interval s] [--minion-speed px/s]
+ *                      [--waves 5,10,15] [--out file.json]
+ *   --max-seconds  simulated time before a game counts as a timeout (default 600)
+ *   --skill        chance per tick that the bot reacts (default 0.8)
+ */
+public class BalanceRunner {
+
+    private static final float TICK_RATE = 60f;
+    private static final int BOSS_LEVEL = 4;   // "level reached" once the boss is out
+
+    static final class Config {
+        int games = 1000, threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1L;
+        float maxSeconds = 600f, skill = 0.8f;
+        int bossHp = 5;
+        float bossShootInterval = 1.1f, minionSpeed = 75f;
+        int[] waves = { 5, 10, 15 };
+        String out = null;
+    }
+
+    /** What one game came to. */
+    static final class Result {
+        World.State state;          // WIN, GAME_OVER, or PLAYING for a timeout / stall
+        boolean stalled;
+        int ticks, level, damage, shots, hits;
+        int bossSpawnTick = -1, bossKillTick = -1;
+        long checksum;
+    }
+
+    public static void main(String[] args) {
+        final Config c = new Config();
+        for (int i = 0; i < args.length; i++) {
+            String a = args[i];
+            if (a.equals("--games")) c.games = Integer.parseInt(args[++i]);
+            else if (a.equals("--threads")) c.threads = Integer.parseInt(args[++i]);
+            else if (a.equals("--seed")) c.seed = Long.parseLong(args[++i]);
+            else if (a.equals("--max-seconds")) c.maxSeconds = Float.parseFloat(args[++i]);
+            else if (a.equals("--skill")) c.skill = Float.parseFloat(args[++i]);
+            else if (a.equals("--boss-hp")) c.bossHp = Integer.parseInt(args[++i]);
+            else if (a.equals("--boss-shoot-interval")) c.bossShootInterval = Float.parseFloat(args[++i]);
+            else if (a.equals("--minion-speed")) c.minionSpeed = Float.parseFloat(args[++i]);
+            else if (a.equals("--waves")) c.waves = parseInts(args[++i]);
+            else if (a.equals("--out")) c.out = args[++i];
+            else throw new IllegalArgumentException("Unknown option " + a);
+        }
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1; // we drive the games ourselves inside create()
+
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                String json = new BalanceRunner(c).run();
+                System.out.println(json);
+                if (c.out != null) Gdx.files.absolute(c.out).writeString(json + "\n", false);
+                Gdx.app.exit();
+            }
+        }, config);
+    }
+
+    private final Config c;
+    // textures / sounds stay null, so one instance is safely shared by every game
+    private final AssetController assets = new AssetController();
+
+    BalanceRunner(Config c) {
+        this.c = c;
+    }
+
+    String run() {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, c.threads));
+        List<Future<Result>> futures = new ArrayList<>(c.games);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < c.games; i++) {
+                final long seed = c.seed + i;
+                futures.add(pool.submit(new Callable<Result>() {
+                    @Override
+                    public Result call() {
+                        return play(seed);
+                    }
+                }));
+            }
+            Result[] results = new Result[c.games];
+            for (int i = 0; i < c.games; i++) results[i] = futures.get(i).get();
+            return summary(results, (System.nanoTime() - start) / 1e9);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A game failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** One full game, bot against the tuned World, until it ends or times out. */
+    Result play(long seed) {
+        final Result r = new Result();
+        World world = new World(assets, new EntityPools(), seed);
+        world.parallelThreshold = -1;   // the games already fill the cores
+        world.bossHp = c.bossHp;
+        world.bossShootInterval = c.bossShootInterval;
+        world.spawner.minionSpeed = c.minionSpeed;
+        world.levels.waveSizes = c.waves;
+
+        final World w = world;
+        world.events.addListener(new GameEvents.Listener() {
+            @Override
+            public void onEvents(GameEvents events, long from, long to) {
+                for (long s = from; s < to; s++) {
+                    switch (events.type(s)) {
+                        case GameEvents.PLAYER_DAMAGED: r.damage += events.a(s); break;
+                        case GameEvents.SHOT: if (events.a(s) == BulletSystem.PLAYER) r.shots++; break;
+                        case GameEvents.HIT: r.hits++; break;
+                        case GameEvents.BOSS_SPAWNED: r.bossSpawnTick = w.tick; break;
+                        case GameEvents.WIN: r.bossKillTick = w.tick; break;
+                    }
+                }
+            }
+        });
+
+        BotController bot = new BotController(c.skill, seed);
+        InputFrame in = new InputFrame();
+        final float dt = 1f / TICK_RATE;
+        int maxTicks = Math.max(1, Math.round(c.maxSeconds * TICK_RATE));
+        while (world.tick < maxTicks && world.state == World.State.PLAYING) {
+            bot.poll(world, in);
+            world.step(dt, in);
+            if (stalled(world)) {
+                r.stalled = true;
+                break;
+            }
+        }
+
+        r.state = world.state;
+        r.ticks = world.tick;
+        r.level = world.levels.bossSpawned ? BOSS_LEVEL : world.levels.level;
+        r.checksum = world.checksum();
+        world.release();
+        return r;
+    }
+
+    private static boolean stalled(World world) {
+        if (world.boss != null || world.levels.canSpawnMoreThisWave() || world.levels.isWaveCleared()) return false;
+        for (int i = 0; i < world.enemies.size; i++) if (world.enemies.get(i).alive) return false;
+        return true;
+    }
+
+    private String summary(Result[] results, double wallSeconds) {
+        int n = results.length;
+        int wins = 0, losses = 0, stalls = 0, timeouts = 0;
+        int[] levels = new int[BOSS_LEVEL + 1];
+        long shots = 0, hits = 0, checksum = 0;
+        float[] length = new float[n], damage = new float[n];
+        float[] ttk = new float[n], winTime = new float[n];
+        int kills = 0;
+        for (int i = 0; i < n; i++) {
+            Result r = results[i];
+            if (r.state == World.State.WIN) {
+                winTime[wins++] = r.ticks / TICK_RATE;
+            } else if (r.state == World.State.GAME_OVER) {
+                losses++;
+            } else if (r.stalled) {
+                stalls++;
+            } else {
+                timeouts++;
+            }
+            if (r.bossKillTick >= 0 && r.bossSpawnTick >= 0) ttk[kills++] = (r.bossKillTick - r.bossSpawnTick) / TICK_RATE;
+            levels[Math.min(BOSS_LEVEL, r.level)]++;
+            length[i] = r.ticks / TICK_RATE;
+            damage[i] = r.damage;
+            shots += r.shots;
+            hits += r.hits;
+            checksum = checksum * 31 + r.checksum;
+        }
+
+        StringBuilder j = new StringBuilder(1024);
+        j.append('{');
+        j.append("\"config\":{\"games\":").append(n).append(",\"threads\":").append(c.threads)
+            .append(",\"seed\":").append(c.seed).append(",\"maxSeconds\":").append(c.maxSeconds)
+            .append(",\"skill\":").append(c.skill).append(",\"bossHp\":").append(c.bossHp)
+            .append(",\"bossShootInterval\":").append(c.bossShootInterval)
+            .append(",\"minionSpeed\":").append(c.minionSpeed)
+            .append(",\"waves\":").append(Arrays.toString(c.waves).replace(" ", "")).append("},");
+        j.append("\"wallSeconds\":").append(round(wallSeconds))
+            .append(",\"gamesPerSecond\":").append(round(n / wallSeconds)).append(',');
+        j.append("\"checksum\":\"").append(Long.toHexString(checksum)).append("\",");
+        j.append("\"outcomes\":{\"win\":").append(wins).append(",\"gameOver\":").append(losses)
+            .append(",\"stalled\":").append(stalls).append(",\"timeout\":").append(timeouts).append("},");
+        double[] ci = wilson(wins, n);
+        j.append("\"winRate\":{\"value\":").append(round(n == 0 ? 0 : wins / (double) n))
+            .append(",\"ci95Low\":").append(round(ci[0])).append(",\"ci95High\":").append(round(ci[1])).append("},");
+        j.append("\"levelReached\":{\"1\":").append(levels[1]).append(",\"2\":").append(levels[2])
+            .append(",\"3\":").append(levels[3]).append(",\"boss\":").append(levels[BOSS_LEVEL]).append("},");
+        j.append("\"bossTimeToKillSeconds\":");
+        stats(j, ttk, kills);
+        j.append(",\"timeToWinSeconds\":");
+        stats(j, winTime, wins);
+        j.append(",\"damageTaken\":");
+        stats(j, damage, n);
+        j.append(",\"gameSeconds\":");
+        stats(j, length, n);
+        j.append(",\"accuracy\":").append(round(shots == 0 ? 0 : hits / (double) shots));
+        j.append('}');
+        return j.toString();
+    }
+
+    /** mean / p50 / p90 / min / max of the first count values (sorts them). */
+    private static void stats(StringBuilder j, float[] values, int count) {
+        if (count == 0) {
+            j.append("null");
+            return;
+        }
+        Arrays.sort(values, 0, count);
+        double sum = 0;
+        for (int i = 0; i < count; i++) sum += values[i];
+        j.append("{\"n\":").append(count).append(",\"mean\":").append(round(sum / count))
+            .append(",\"p50\":").append(round(percentile(values, count, 50)))
+            .append(",\"p90\":").append(round(percentile(values, count, 90)))
+            .append(",\"min\":").append(round(values[0]))
+            .append(",\"max\":").append(round(values[count - 1])).append('}');
+    }
+
+    private static float percentile(float[] sorted, int count, double pct) {
+        int i = (int) Math.ceil(pct / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, i))];
+    }
+
+    /** 95% Wilson score interval for k successes out of n. */
+    private static double[] wilson(int k, int n) {
+        if (n == 0) return new double[] { 0, 0 };
+        double z = 1.96, p = k / (double) n, z2n = z * z / n;
+        double centre = (p + z2n / 2) / (1 + z2n);
+        double half = z * Math.sqrt(p * (1 - p) / n + z2n / (4.0 * n)) / (1 + z2n);
+        return new double[] { Math.max(0, centre - half), Math.min(1, centre + half) };
+    }
+
+    private static int[] parseInts(String csv) {
+        String[] parts = csv.split(",");
+        int[] out = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) out[i] = Integer.parseInt(parts[i].trim());
+        return out;
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 1000.0) / 1000.0;
+    }
+}
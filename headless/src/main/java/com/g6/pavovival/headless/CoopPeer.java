@@ -0,0 +1,182 @@
+package com.g6.pavovival.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.g6.pavovival.actions.AssetController;
+import com.g6.pavovival.actions.BotController;
+import com.g6.pavovival.actions.InputFrame;
+import com.g6.pavovival.entities.EntityPools;
+import com.g6.pavovival.net.RollbackSession;
+import com.g6.pavovival.net.UdpLink;
+import com.g6.pavovival.world.World;
+
+import java.io.IOException;
+
+/**
+ * One side of a co-op game over UDP loopback, played by BotController: start it twice, once
+ * with --player 1 and once with --player 2 (same seed), and each process runs the whole World
+ * through a RollbackSession, exchanging only inputs. Prints one JSON object: rollbacks and
+ * their cost, stalls, hashes compared with the peer, desyncs, and the final checksum, which
+ * has to be the same in both outputs.
+ *
+ * Usage: CoopPeer --player 1|2 [--base-port n] [--seed n] [--seconds s] [--delay ticks]
+ *                 [--lag-ms n] [--jitter-ms n] [--skill 0..1] [--unpaced] [--out file.json]
+ *   --base-port  player 1 binds base, player 2 base + 1 (default 7770)
+ *   --lag-ms     outgoing packets are held back this long (+ up to --jitter-ms), to see rollbacks
+ *   --unpaced    tick as fast as the peer allows instead of 60 per second
+ */
+public class CoopPeer {
+
+    private static final float TICK_RATE = 60f;
+    private static final long GIVE_UP_NANOS = 10_000_000_000L;   // no progress for this long = peer gone
+
+    static final class Config {
+        int player = 1, basePort = 7770, delay = RollbackSession.DEFAULT_DELAY;
+        long seed = 1L;
+        float seconds = 60f, skill = 0.8f;
+        int lagMillis = 0, jitterMillis = 0;
+        boolean paced = true;
+        String out = null;
+    }
+
+    public static void main(String[] args) {
+        final Config c = new Config();
+        for (int i = 0; i < args.length; i++) {
+            String a = args[i];
+            if (a.equals("--player")) c.player = Integer.parseInt(args[++i]);
+            else if (a.equals("--base-port")) c.basePort = Integer.parseInt(args[++i]);
+            else if (a.equals("--seed")) c.seed = Long.parseLong(args[++i]);
+            else if (a.equals("--seconds")) c.seconds = Float.parseFloat(args[++i]);
+            else if (a.equals("--delay")) c.delay = Integer.parseInt(args[++i]);
+            else if (a.equals("--lag-ms")) c.lagMillis = Integer.parseInt(args[++i]);
+            else if (a.equals("--jitter-ms")) c.jitterMillis = Integer.parseInt(args[++i]);
+            else if (a.equals("--skill")) c.skill = Float.parseFloat(args[++i]);
+            else if (a.equals("--unpaced")) c.paced = false;
+            else if (a.equals("--out")) c.out = args[++i];
+            else throw new IllegalArgumentException("Unknown option " + a);
+        }
+        if (c.player != 1 && c.player != 2) throw new IllegalArgumentException("--player must be 1 or 2");
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1; // we drive the game ourselves inside create()
+
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                String json;
+                try {
+                    json = new CoopPeer(c).run();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Can't open the UDP socket", e);
+                }
+                System.out.println(json);
+                if (c.out != null) Gdx.files.absolute(c.out).writeString(json + "\n", false);
+                Gdx.app.exit();
+            }
+        }, config);
+    }
+
+    private final Config c;
+
+    CoopPeer(Config c) {
+        this.c = c;
+    }
+
+    String run() throws IOException {
+        int local = c.player - 1;
+        UdpLink link = new UdpLink(c.basePort + local, c.basePort + 1 - local);
+        if (c.lagMillis > 0 || c.jitterMillis > 0) link.setLag(c.lagMillis, c.jitterMillis, c.seed + c.player);
+
+        World world = new World(new AssetController(), new EntityPools(), c.seed, 2);
+        world.parallelThreshold = -1;   // the other peer shares the cores
+        final float dt = 1f / TICK_RATE;
+        RollbackSession session = new RollbackSession(world, local, c.delay, dt, link);
+        BotController bot = new BotController(c.skill, c.seed * 31 + c.player);
+        bot.player = local;
+        bot.dt = dt;
+        InputFrame in = new InputFrame();
+
+        int target = Math.max(1, Math.round(c.seconds * TICK_RATE));
+        long tickNanos = (long) (1e9 / TICK_RATE);
+        long start = System.nanoTime(), next = start, progress = start;
+        long advanceNanos = 0, maxAdvanceNanos = 0;
+        try {
+            while (world.tick < target) {
+                bot.poll(world, in);
+                long t0 = System.nanoTime();
+                boolean stepped = session.advance(in);
+                long t1 = System.nanoTime();
+                if (stepped) {
+                    advanceNanos += t1 - t0;
+                    maxAdvanceNanos = Math.max(maxAdvanceNanos, t1 - t0);
+                    progress = t1;
+                } else if (t1 - progress > GIVE_UP_NANOS) {
+                    throw new IllegalStateException("No packets from player " + (2 - local) + " for 10 s");
+                }
+
+                if (c.paced) {
+                    next += tickNanos;
+                    sleepUntil(next);
+                } else if (!stepped) {
+                    sleepUntil(t1 + 200_000L);
+                }
+            }
+            // let the peer catch up with our last inputs, and us with its
+            long until = System.nanoTime() + 3_000_000_000L;
+            while (!session.settled() && System.nanoTime() < until) {
+                session.sync();
+                sleepUntil(System.nanoTime() + 1_000_000L);
+            }
+            for (int i = 0; i < 20; i++) {   // a few more so the peer hears our last ack
+                session.sync();
+                sleepUntil(System.nanoTime() + 1_000_000L);
+            }
+        } finally {
+            link.close();
+        }
+        double wall = (System.nanoTime() - start) / 1e9;
+
+        StringBuilder j = new StringBuilder(512);
+        j.append("{\"config\":{\"player\":").append(c.player).append(",\"seed\":").append(c.seed)
+            .append(",\"seconds\":").append(c.seconds).append(",\"delay\":").append(session.delay)
+            .append(",\"lagMs\":").append(c.lagMillis).append(",\"jitterMs\":").append(c.jitterMillis)
+            .append(",\"paced\":").append(c.paced).append("},");
+        j.append("\"ticks\":").append(world.tick).append(",\"wallSeconds\":").append(round(wall))
+            .append(",\"settled\":").append(session.settled())
+            .append(",\"state\":\"").append(world.state).append("\",");
+        j.append("\"checksum\":\"").append(Long.toHexString(world.checksum())).append("\",");
+        j.append("\"rollbacks\":{\"count\":").append(session.rollbacks)
+            .append(",\"resimulatedTicks\":").append(session.resimulated)
+            .append(",\"maxDepth\":").append(session.maxDepth)
+            .append(",\"meanMicros\":").append(round(session.rollbacks == 0 ? 0 : session.rollbackNanos / 1e3 / session.rollbacks))
+            .append(",\"maxMicros\":").append(round(session.maxRollbackNanos / 1e3))
+            .append(",\"microsPerTick\":").append(round(session.resimulated == 0 ? 0 : session.rollbackNanos / 1e3 / session.resimulated))
+            .append("},");
+        j.append("\"advanceMicros\":{\"mean\":").append(round(advanceNanos / 1e3 / Math.max(1, world.tick)))
+            .append(",\"max\":").append(round(maxAdvanceNanos / 1e3)).append("},");
+        j.append("\"stalls\":").append(session.stalls)
+            .append(",\"hashesChecked\":").append(session.hashesChecked)
+            .append(",\"desyncs\":").append(session.desyncs)
+            .append(",\"desyncTick\":").append(session.desyncTick)
+            .append(",\"packets\":{\"sent\":").append(link.sent).append(",\"received\":").append(link.received)
+            .append(",\"dropped\":").append(link.dropped).append(",\"foreign\":").append(session.foreignPackets).append("}");
+        j.append('}');
+        return j.toString();
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long wait = nanoTime - System.nanoTime();
+        if (wait <= 0) return;
+        try {
+            Thread.sleep(wait / 1_000_000L, (int) (wait % 1_000_000L));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 1000.0) / 1000.0;
+    }
+}
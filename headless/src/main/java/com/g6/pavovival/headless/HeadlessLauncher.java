@@ -0,0 +1,128 @@
+package com.g6.pavovival.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.g6.pavovival.actions.AssetController;
+import com.g6.pavovival.actions.InputFrame;
+import com.g6.pavovival.actions.Replay;
+import com.g6.pavovival.entities.EntityPools;
+import com.g6.pavovival.world.World;
+
+import java.io.IOException;
+
+/**
+ * Steps the World without a window or GPU as fast as possible and prints how long it took.
+ * Usage: HeadlessLauncher [frames] [--seed n] [--record file] [--replay file]
+ *   frames    default 20000 frames at 60 Hz, scripted input, a new World after each game over / win
+ *   --seed    World seed (default 1), so runs are repeatable
+ *   --record  stop when the first World ends and save its input as a replay
+ *   --replay  play a recorded run (from the game or --record) and check it ends in the same state
+ */
+public class HeadlessLauncher {
+
+    private static final float TICK_RATE = 60f;
+
+    public static void main(String[] args) {
+        int frames = 20000;
+        long seed = 1L;
+        String record = null, replay = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--seed")) seed = Long.parseLong(args[++i]);
+            else if (args[i].equals("--record")) record = args[++i];
+            else if (args[i].equals("--replay")) replay = args[++i];
+            else frames = Integer.parseInt(args[i]);
+        }
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1; // we drive the loop ourselves inside create()
+
+        final int runFrames = frames;
+        final long runSeed = seed;
+        final String recordPath = record, replayPath = replay;
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                try {
+                    if (replayPath != null) replay(replayPath);
+                    else run(runFrames, runSeed, recordPath);
+                } catch (IOException e) {
+                    Gdx.app.error("Headless", e.getMessage(), e);
+                }
+                Gdx.app.exit();
+            }
+        }, config);
+    }
+
+    private static void run(int frames, long seed, String recordPath) throws IOException {
+        // textures / sounds stay null: the simulation never touches them
+        AssetController assets = new AssetController();
+        EntityPools pools = new EntityPools();
+        World world = new World(assets, pools, seed);
+        InputFrame in = new InputFrame();
+        Replay recording = recordPath != null ? new Replay(seed, TICK_RATE) : null;
+        final float dt = 1f / TICK_RATE;
+
+        long start = System.nanoTime();
+        int stepped = 0;
+        for (; stepped < frames; stepped++) {
+            if (world.state == World.State.GAME_OVER || world.state == World.State.WIN) {
+                if (recording != null) break;
+                world.release();
+                world = new World(assets, pools, seed + stepped);
+            }
+            scriptedInput(world, in, stepped);
+            if (recording != null) recording.record(in);
+            world.step(dt, in);
+        }
+        long took = System.nanoTime() - start;
+
+        report(stepped, took);
+        Gdx.app.log("Headless", "pools: " + pools.stats() + " bullets[" + world.bullets.stats() + "]");
+
+        if (recording != null) {
+            recording.checksum = world.checksum();
+            recording.write(Gdx.files.absolute(recordPath));
+            Gdx.app.log("Headless", "recorded " + recording.ticks() + " ticks (" + world.state + ") to " + recordPath);
+        }
+    }
+
+    private static void replay(String path) throws IOException {
+        Replay replay = Replay.read(Gdx.files.absolute(path));
+        World world = new World(new AssetController(), new EntityPools(), replay.seed);
+        InputFrame in = new InputFrame();
+        final float dt = 1f / replay.tickRate;
+
+        long start = System.nanoTime();
+        while (replay.play(world.tick, in)) world.step(dt, in);
+        long took = System.nanoTime() - start;
+
+        report(world.tick, took);
+        long checksum = world.checksum();
+        if (replay.checksum == 0L) {
+            Gdx.app.log("Headless", "replay has no checksum; final state " + Long.toHexString(checksum));
+        } else if (replay.checksum == checksum) {
+            Gdx.app.log("Headless", "replay OK: same final state (" + world.state + ")");
+        } else {
+            Gdx.app.error("Headless", "replay DIVERGED: expected " + Long.toHexString(replay.checksum)
+                + ", got " + Long.toHexString(checksum));
+        }
+    }
+
+    private static void report(int stepped, long took) {
+        double ms = took / 1e6;
+        Gdx.app.log("Headless", String.format("%d frames in %.1f ms (%.0f frames/s, %.2f us/frame)",
+            stepped, ms, stepped / (ms / 1000.0), took / 1000.0 / stepped));
+    }
+
+    /** Very small "player": walk back and forth, hop now and then, shoot whenever possible. */
+    private static void scriptedInput(World world, InputFrame in, int frame) {
+        in.clear();
+        boolean goRight = (frame / 180) % 2 == 0;
+        in.right = goRight;
+        in.left = !goRight;
+        in.jump = frame % 90 == 0;
+        in.shoot = world.pavo.canShoot();
+    }
+}
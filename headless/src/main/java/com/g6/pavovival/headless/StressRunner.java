@@ -0,0 +1,334 @@
+package com.g6.pavovival.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import com.g6.pavovival.actions.AssetController;
+import com.g6.pavovival.actions.InputFrame;
+import com.g6.pavovival.actions.Spawn;
+import com.g6.pavovival.entities.Boss;
+import com.g6.pavovival.entities.BulletSystem;
+import com.g6.pavovival.entities.EntityPools;
+import com.g6.pavovival.world.GameEvents;
+import com.g6.pavovival.world.ParallelTick;
+import com.g6.pavovival.world.World;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Soak test: keeps a World filled with a fixed number of minions, birds, bosses and bullets
+ * and steps it through the normal update / collision code for a set (simulated) time.
+ * Spawn and LevelController overrides keep the population topped up instead of the usual
+ * 3-5 enemy waves; Pavo can't die and the level never advances to the real boss.
+ * Prints one JSON object: tick-time percentiles, GC pauses, allocation rate (the stepping
+ * thread plus the fork-join workers of a parallel step), heap peak.
+ *
+ * Usage: StressRunner [--minions n] [--birds n] [--bosses n] [--bullets n]
+ *                     [--seconds s] [--warmup s] [--seed n] [--out file.json]
+ *                     [--threshold n] [--threads n]
+ *   --threshold  World.parallelThreshold (-1 = serial only)
+ *   --threads    size of a dedicated fork-join pool for the parallel step (default: common pool)
+ */
+public class StressRunner {
+
+    private static final float TICK_RATE = 60f;
+
+    static final class Config {
+        int minions = 1000, birds = 500, bosses = 2, bullets = 2000;
+        float seconds = 60f, warmup = 5f;
+        long seed = 1L;
+        String out = null;
+        int threshold = ParallelTick.DEFAULT_THRESHOLD, threads = 0;
+    }
+
+    public static void main(String[] args) {
+        final Config c = new Config();
+        for (int i = 0; i < args.length; i++) {
+            String a = args[i];
+            if (a.equals("--minions")) c.minions = Integer.parseInt(args[++i]);
+            else if (a.equals("--birds")) c.birds = Integer.parseInt(args[++i]);
+            else if (a.equals("--bosses")) c.bosses = Integer.parseInt(args[++i]);
+            else if (a.equals("--bullets")) c.bullets = Integer.parseInt(args[++i]);
+            else if (a.equals("--seconds")) c.seconds = Float.parseFloat(args[++i]);
+            else if (a.equals("--warmup")) c.warmup = Float.parseFloat(args[++i]);
+            else if (a.equals("--seed")) c.seed = Long.parseLong(args[++i]);
+            else if (a.equals("--out")) c.out = args[++i];
+            else if (a.equals("--threshold")) c.threshold = Integer.parseInt(args[++i]);
+            else if (a.equals("--threads")) c.threads = Integer.parseInt(args[++i]);
+            else throw new IllegalArgumentException("Unknown option " + a);
+        }
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1; // we drive the loop ourselves inside create()
+
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                String json = new StressRunner(c).run();
+                System.out.println(json);
+                if (c.out != null) Gdx.files.absolute(c.out).writeString(json + "\n", false);
+                Gdx.app.exit();
+            }
+        }, config);
+    }
+
+    private final Config c;
+    private final World world;
+    private final RandomXS128 random;
+    private final Array<Boss> bosses = new Array<>();
+    private final InputFrame in = new InputFrame();
+    private final long[] eventCounts = new long[GameEvents.TYPES];
+
+    StressRunner(Config c) {
+        this.c = c;
+        this.random = new RandomXS128(c.seed, 0x5EEDL);
+        world = new World(new AssetController(), new EntityPools(c.minions, c.birds), c.seed);
+
+        // level 3 (birds allowed), a wave that never ends, no cap or delay on spawning
+        world.levels.level = 3;
+        world.levels.waveSizeOverride = Integer.MAX_VALUE;
+        Spawn s = world.spawner;
+        int enemies = c.minions + c.birds;
+        s.maxActive = enemies;
+        s.perUpdate = Math.max(1, enemies);
+        s.spawnInterval = 0f;
+        s.birdChance = enemies == 0 ? 0f : c.birds / (float) enemies;
+        s.spreadX = World.WIDTH;
+
+        world.pavo.hp = Integer.MAX_VALUE / 2;
+
+        // one more GameEvents listener: per-type totals for the summary
+        world.events.addListener(new GameEvents.Listener() {
+            @Override
+            public void onEvents(GameEvents events, long from, long to) {
+                for (long s = from; s < to; s++) eventCounts[events.type(s)]++;
+            }
+        });
+
+        world.parallelThreshold = c.threshold;
+        if (c.threads > 0) world.parallel = new ParallelTick(new ForkJoinPool(c.threads));
+    }
+
+    String run() {
+        final float dt = 1f / TICK_RATE;
+        int warmupTicks = Math.round(c.warmup * TICK_RATE);
+        int ticks = Math.max(1, Math.round(c.seconds * TICK_RATE));
+        long[] tickNanos = new long[ticks];
+
+        for (int i = 0; i < warmupTicks; i++) tick(i, dt);
+        Arrays.fill(eventCounts, 0L);
+
+        GcWatch gc = new GcWatch();
+        List<MemoryPoolMXBean> heapPools = heapPools();
+        for (MemoryPoolMXBean p : heapPools) p.resetPeakUsage();
+        long enemySum = 0, bulletSum = 0;
+        int enemyMax = 0, bulletMax = 0, parallelTicks = 0;
+
+        AllocWatch alloc = new AllocWatch();
+        long start = System.nanoTime();
+        for (int i = 0; i < ticks; i++) {
+            tickNanos[i] = tick(warmupTicks + i, dt);
+            enemySum += world.enemies.size;
+            bulletSum += world.bullets.size;
+            enemyMax = Math.max(enemyMax, world.enemies.size);
+            bulletMax = Math.max(bulletMax, world.bullets.size);
+            if (world.steppedInParallel) parallelTicks++;
+        }
+        long wall = System.nanoTime() - start;
+        alloc.stop();
+        long allocated = alloc.mainBytes + alloc.workerBytes;
+        gc.stop();
+
+        long heapPeak = 0;
+        for (MemoryPoolMXBean p : heapPools) heapPeak += p.getPeakUsage().getUsed();
+
+        long tickTotal = 0;
+        for (long t : tickNanos) tickTotal += t;
+        Arrays.sort(tickNanos);
+        double wallSeconds = wall / 1e9;
+
+        StringBuilder j = new StringBuilder(1024);
+        j.append('{');
+        j.append("\"config\":{\"minions\":").append(c.minions).append(",\"birds\":").append(c.birds)
+            .append(",\"bosses\":").append(c.bosses).append(",\"bullets\":").append(c.bullets)
+            .append(",\"seconds\":").append(c.seconds).append(",\"warmup\":").append(c.warmup)
+            .append(",\"seed\":").append(c.seed).append(",\"threshold\":").append(c.threshold)
+            .append(",\"threads\":").append(world.parallel != null ? world.parallel.parallelism() : 1).append("},");
+        j.append("\"ticks\":").append(ticks).append(",\"wallSeconds\":").append(round(wallSeconds)).append(',');
+        j.append("\"ticksPerSecond\":").append(round(ticks / wallSeconds)).append(',');
+        j.append("\"parallelTicks\":").append(parallelTicks).append(',');
+        j.append("\"checksum\":\"").append(Long.toHexString(world.checksum())).append("\",");
+        j.append("\"tickMicros\":{\"mean\":").append(round(tickTotal / 1e3 / ticks))
+            .append(",\"p50\":").append(micros(tickNanos, 50)).append(",\"p90\":").append(micros(tickNanos, 90))
+            .append(",\"p95\":").append(micros(tickNanos, 95)).append(",\"p99\":").append(micros(tickNanos, 99))
+            .append(",\"p999\":").append(micros(tickNanos, 99.9)).append(",\"max\":").append(round(tickNanos[ticks - 1] / 1e3))
+            .append("},");
+        j.append("\"entities\":{\"enemiesMean\":").append(round(enemySum / (double) ticks)).append(",\"enemiesMax\":").append(enemyMax)
+            .append(",\"bulletsMean\":").append(round(bulletSum / (double) ticks)).append(",\"bulletsMax\":").append(bulletMax)
+            .append(",\"kills\":").append(world.levels.totalKills).append("},");
+        j.append("\"events\":{");
+        for (int t = 0; t < GameEvents.TYPES; t++) {
+            if (t > 0) j.append(',');
+            j.append('"').append(GameEvents.NAMES[t]).append("\":").append(eventCounts[t]);
+        }
+        j.append("},");
+        j.append("\"gc\":{\"count\":").append(gc.count.get()).append(",\"totalMillis\":").append(gc.totalMillis.get())
+            .append(",\"maxPauseMillis\":").append(gc.maxMillis.get()).append("},");
+        j.append("\"allocation\":{\"bytes\":").append(allocated)
+            .append(",\"bytesPerTick\":").append(round(allocated / (double) ticks))
+            .append(",\"mbPerSecond\":").append(round(allocated / 1048576.0 / wallSeconds))
+            .append(",\"mainThreadBytes\":").append(alloc.mainBytes).append(",\"workerBytes\":").append(alloc.workerBytes)
+            .append(",\"workerThreads\":").append(alloc.workers).append("},");
+        j.append("\"heap\":{\"peakBytes\":").append(heapPeak)
+            .append(",\"maxBytes\":").append(Runtime.getRuntime().maxMemory()).append('}');
+        j.append('}');
+        return j.toString();
+    }
+
+    /** Tops the population up (untimed), then times one World step. */
+    private long tick(int n, float dt) {
+        for (int i = bosses.size - 1; i >= 0; i--) {
+            if (!bosses.get(i).alive) bosses.removeIndex(i);
+        }
+        while (bosses.size < c.bosses) {
+            Boss b = new Boss(null, random.nextFloat() * (World.WIDTH - 248f), 0, random);
+            bosses.add(b);
+            world.enemies.add(b);
+        }
+        BulletSystem bullets = world.bullets;
+        while (bullets.size < c.bullets) {
+            byte owner = (bullets.size & 1) == 0 ? BulletSystem.PLAYER : BulletSystem.ENEMY;
+            bullets.add(random.nextFloat() * World.WIDTH, random.nextFloat() * 300f,
+                random.nextBoolean() ? 1 : -1, owner);
+        }
+
+        // same little "player" as HeadlessLauncher
+        in.clear();
+        boolean goRight = (n / 180) % 2 == 0;
+        in.right = goRight;
+        in.left = !goRight;
+        in.jump = n % 90 == 0;
+        in.shoot = world.pavo.canShoot();
+
+        long t0 = System.nanoTime();
+        world.step(dt, in);
+        return System.nanoTime() - t0;
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans();
+        for (int i = pools.size() - 1; i >= 0; i--) {
+            if (pools.get(i).getType() != MemoryType.HEAP) pools.remove(i);
+        }
+        return pools;
+    }
+
+    private static double micros(long[] sortedNanos, double pct) {
+        int i = (int) Math.ceil(pct / 100.0 * sortedNanos.length) - 1;
+        return round(sortedNanos[Math.max(0, Math.min(sortedNanos.length - 1, i))] / 1e3);
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 1000.0) / 1000.0;
+    }
+
+    /**
+     * Bytes allocated by this thread (which steps the World) plus every fork-join worker, since
+     * a parallel step runs the enemy update, bullet integration and narrowphase on those too.
+     * A worker started mid-run counts from zero; one that exits mid-run (idle past the pool's
+     * keep-alive, which a continuous run doesn't do) takes its count with it.
+     */
+    private static final class AllocWatch {
+        private final com.sun.management.ThreadMXBean bean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        private final long main = Thread.currentThread().getId();
+        private final HashMap<Long, Long> workerStart = new HashMap<>();
+        private final long mainStart;
+        long mainBytes, workerBytes;
+        int workers;
+
+        AllocWatch() {
+            long[] ids = workerIds();
+            long[] bytes = bean.getThreadAllocatedBytes(ids);
+            for (int i = 0; i < ids.length; i++) {
+                if (bytes[i] >= 0) workerStart.put(ids[i], bytes[i]);
+            }
+            mainStart = bean.getThreadAllocatedBytes(main);   // last, so the snapshot above isn't counted
+        }
+
+        void stop() {
+            mainBytes = bean.getThreadAllocatedBytes(main) - mainStart;   // first, for the same reason
+            long[] ids = workerIds();
+            long[] bytes = bean.getThreadAllocatedBytes(ids);
+            for (int i = 0; i < ids.length; i++) {
+                if (bytes[i] < 0) continue;   // exited in between
+                Long start = workerStart.get(ids[i]);
+                workerBytes += bytes[i] - (start == null ? 0L : start);
+            }
+            workers = ids.length;
+        }
+
+        private static long[] workerIds() {
+            Set<Thread> all = Thread.getAllStackTraces().keySet();
+            long[] ids = new long[all.size()];
+            int n = 0;
+            for (Thread t : all) {
+                if (t instanceof ForkJoinWorkerThread) ids[n++] = t.getId();
+            }
+            return Arrays.copyOf(ids, n);
+        }
+    }
+
+    /** Collects every GC pause reported while it's registered (HotSpot notifications). */
+    private static final class GcWatch implements NotificationListener {
+        final AtomicLong count = new AtomicLong(), totalMillis = new AtomicLong(), maxMillis = new AtomicLong();
+        private final List<GarbageCollectorMXBean> beans = ManagementFactory.getGarbageCollectorMXBeans();
+
+        GcWatch() {
+            for (GarbageCollectorMXBean b : beans) {
+                if (b instanceof NotificationEmitter) ((NotificationEmitter) b).addNotificationListener(this, null, null);
+            }
+        }
+
+        @Override
+        public void handleNotification(Notification n, Object handback) {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(n.getType())) return;
+            GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) n.getUserData());
+            long ms = info.getGcInfo().getDuration();
+            count.incrementAndGet();
+            totalMillis.addAndGet(ms);
+            long max;
+            while (ms > (max = maxMillis.get()) && !maxMillis.compareAndSet(max, ms)) { }
+        }
+
+        void stop() {
+            for (GarbageCollectorMXBean b : beans) {
+                if (!(b instanceof NotificationEmitter)) continue;
+                try {
+                    ((NotificationEmitter) b).removeNotificationListener(this);
+                } catch (Exception ignored) {
+                    // already gone
+                }
+            }
+        }
+    }
+}
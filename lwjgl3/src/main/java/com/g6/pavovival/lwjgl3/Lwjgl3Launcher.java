@@ -7,12 +7,21 @@ import com.g6.pavovival.Main;
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
     public static void main(String[] args) {
-        if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
-        createApplication();
+        if (StartupHelper.startNewJvmIfRequired(args)) return; // This handles macOS support and helps on Windows.
+        createApplication(args);
     }
 
-    private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new Main(), getDefaultConfiguration());
+    private static Lwjgl3Application createApplication(String[] args) {
+        Main main = new Main();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--replay") && i + 1 < args.length) main.replayPath = args[++i];
+            else if (args[i].equals("--sim-thread")) main.simThread = true;
+            else if (args[i].equals("--coop") && i + 1 < args.length) main.coopPlayer = Integer.parseInt(args[++i]);
+            else if (args[i].equals("--coop-port") && i + 1 < args.length) main.coopBasePort = Integer.parseInt(args[++i]);
+            else if (args[i].equals("--coop-seed") && i + 1 < args.length) main.coopSeed = Long.parseLong(args[++i]);
+            else if (args[i].equals("--coop-delay") && i + 1 < args.length) main.coopDelay = Integer.parseInt(args[++i]);
+        }
+        return new Lwjgl3Application(main, getDefaultConfiguration());
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
@@ -26,6 +26,7 @@ import java.io.File;
 import java.io.InputStreamReader;
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import static org.lwjgl.system.JNI.invokePPP;
 import static org.lwjgl.system.JNI.invokePPZ;
@@ -70,10 +71,12 @@ public class StartupHelper {
      *            whether the output of the new JVM should be rerouted to the
      *            old JVM, so it can be accessed in the same place; keeps the
      *            old JVM running if enabled
+     * @param args
+     *            the program arguments, passed on to the new JVM
      * @return whether a new JVM was started and thus no code should be executed
      *         in this one
      */
-    public static boolean startNewJvmIfRequired(boolean redirectOutput) {
+    public static boolean startNewJvmIfRequired(boolean redirectOutput, String... args) {
         String osName = System.getProperty("os.name").toLowerCase();
         if (!osName.contains("mac")) {
             if (osName.contains("windows")) {
@@ -154,6 +157,7 @@ public class StartupHelper {
             }
         }
         jvmArgs.add(mainClass);
+        jvmArgs.addAll(Arrays.asList(args));
 
         try {
             if (!redirectOutput) {
@@ -182,23 +186,25 @@ public class StartupHelper {
 
     /**
      * Starts a new JVM if the application was started on macOS without the
-     * {@code -XstartOnFirstThread} argument. Returns whether a new JVM was
-     * started and thus no code should be executed. Redirects the output of the
-     * new JVM to the old one.
+     * {@code -XstartOnFirstThread} argument, with the same program arguments.
+     * Returns whether a new JVM was started and thus no code should be
+     * executed. Redirects the output of the new JVM to the old one.
      * <p>
      * <u>Usage:</u>
      *
      * <pre>
      * public static void main(String... args) {
-     * 	if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
+     * 	if (StartupHelper.startNewJvmIfRequired(args)) return; // This handles macOS support and helps on Windows.
      * 	// the actual main method code
      * }
      * </pre>
      *
+     * @param args
+     *            the program arguments, passed on to the new JVM
      * @return whether a new JVM was started and thus no code should be executed
      *         in this one
      */
-    public static boolean startNewJvmIfRequired() {
-        return startNewJvmIfRequired(true);
+    public static boolean startNewJvmIfRequired(String... args) {
+        return startNewJvmIfRequired(true, args);
     }
 }
\ No newline at end of file